@@ -0,0 +1,126 @@
+package gen4_restriction.code;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Циклы на Vector API: за итерацию обрабатывается целый регистр (SPECIES_PREFERRED),
+ * хвост короче регистра досчитывается скалярно.
+ * <p>
+ * Модуль инкубаторский, поэтому класс вынесен из src в необязательный каталог src-vector:
+ * {@code javac --add-modules jdk.incubator.vector -d out $(find src src-vector -name '*.java')}
+ * и запуск с тем же флагом. Без каталога или флага {@link Aggregates} остается на {@link ScalarKernels}.
+ */
+final class VectorKernels implements Kernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarKernels tail = new ScalarKernels();
+
+    @Override
+    public long sum(int[] values, int from, int to) {
+        // Сумма int переполняется, поэтому каждая порция расширяется до long (две половины регистра)
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for (; i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, values, i);
+            acc = acc.add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 0))
+                     .add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + tail.sum(values, i, to);
+    }
+
+    @Override
+    public int min(int[] values, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for (; i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, values, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), tail.min(values, i, to));
+    }
+
+    @Override
+    public int max(int[] values, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for (; i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, values, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), tail.max(values, i, to));
+    }
+
+    @Override
+    public long sum(long[] values, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for (; i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, values, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + tail.sum(values, i, to);
+    }
+
+    @Override
+    public long min(long[] values, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for (; i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromArray(LONGS, values, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), tail.min(values, i, to));
+    }
+
+    @Override
+    public long max(long[] values, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for (; i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromArray(LONGS, values, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), tail.max(values, i, to));
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        // Порядок сложения отличается от последовательного, поэтому младшие разряды суммы могут отличаться
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        for (; i < bound; i += DOUBLES.length()) {
+            acc = acc.add(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + tail.sum(values, i, to);
+    }
+
+    @Override
+    public double min(double[] values, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        for (; i < bound; i += DOUBLES.length()) {
+            acc = acc.min(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), tail.min(values, i, to));
+    }
+
+    @Override
+    public double max(double[] values, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        int bound = from + DOUBLES.loopBound(to - from);
+        for (; i < bound; i += DOUBLES.length()) {
+            acc = acc.max(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), tail.max(values, i, to));
+    }
+}
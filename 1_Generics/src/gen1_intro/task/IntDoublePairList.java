@@ -0,0 +1,122 @@
+package gen1_intro.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Список пар (int, double) в двух примитивных массивах: без упаковки и без объекта на пару.
+ * Устроен как {@link PairList}; сортировка - по естественному порядку компоненты.
+ */
+public class IntDoublePairList {
+    private int[] firsts;
+    private double[] seconds;
+    private int size;
+
+    public IntDoublePairList() {
+        this(10);
+    }
+
+    public IntDoublePairList(int capacity) {
+        firsts = new int[capacity];
+        seconds = new double[capacity];
+    }
+
+    public void add(int first, double second) {
+        if (size == firsts.length) {
+            int capacity = Math.max(8, size + (size >> 1));
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        firsts[size] = first;
+        seconds[size] = second;
+        size++;
+    }
+
+    public int getFirst(int index) {
+        Objects.checkIndex(index, size);
+        return firsts[index];
+    }
+
+    public double getSecond(int index) {
+        Objects.checkIndex(index, size);
+        return seconds[index];
+    }
+
+    public void setFirst(int index, int first) {
+        Objects.checkIndex(index, size);
+        firsts[index] = first;
+    }
+
+    public void setSecond(int index, double second) {
+        Objects.checkIndex(index, size);
+        seconds[index] = second;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Pair<Integer, Double> pair(int index) {
+        Objects.checkIndex(index, size);
+        return new Pair<>(firsts[index], seconds[index]);
+    }
+
+    public List<Pair<Integer, Double>> asPairs() {
+        return new AbstractList<>() {
+            @Override
+            public Pair<Integer, Double> get(int index) {
+                return pair(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public void sortByFirst() {
+        reorder(PairSort.byIntKey(firsts, size));
+    }
+
+    public void sortBySecond() {
+        reorder(PairSort.stable(size, (i, j) -> Double.compare(seconds[i], seconds[j])));
+    }
+
+    private void reorder(int[] order) {
+        int[] newFirsts = new int[firsts.length];
+        double[] newSeconds = new double[seconds.length];
+        for (int i = 0; i < size; i++) {
+            newFirsts[i] = firsts[order[i]];
+            newSeconds[i] = seconds[order[i]];
+        }
+        firsts = newFirsts;
+        seconds = newSeconds;
+    }
+
+    public class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            return ++index < size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int first() {
+            return firsts[index];
+        }
+
+        public double second() {
+            return seconds[index];
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package gen1_intro.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Список пар (int, int) в двух примитивных массивах: без упаковки и без объекта на пару.
+ * Устроен как {@link PairList}; сортировка - по естественному порядку компоненты.
+ */
+public class IntIntPairList {
+    private int[] firsts;
+    private int[] seconds;
+    private int size;
+
+    public IntIntPairList() {
+        this(10);
+    }
+
+    public IntIntPairList(int capacity) {
+        firsts = new int[capacity];
+        seconds = new int[capacity];
+    }
+
+    public void add(int first, int second) {
+        if (size == firsts.length) {
+            int capacity = Math.max(8, size + (size >> 1));
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        firsts[size] = first;
+        seconds[size] = second;
+        size++;
+    }
+
+    public int getFirst(int index) {
+        Objects.checkIndex(index, size);
+        return firsts[index];
+    }
+
+    public int getSecond(int index) {
+        Objects.checkIndex(index, size);
+        return seconds[index];
+    }
+
+    public void setFirst(int index, int first) {
+        Objects.checkIndex(index, size);
+        firsts[index] = first;
+    }
+
+    public void setSecond(int index, int second) {
+        Objects.checkIndex(index, size);
+        seconds[index] = second;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Pair<Integer, Integer> pair(int index) {
+        Objects.checkIndex(index, size);
+        return new Pair<>(firsts[index], seconds[index]);
+    }
+
+    public List<Pair<Integer, Integer>> asPairs() {
+        return new AbstractList<>() {
+            @Override
+            public Pair<Integer, Integer> get(int index) {
+                return pair(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public void sortByFirst() {
+        reorder(PairSort.byIntKey(firsts, size));
+    }
+
+    public void sortBySecond() {
+        reorder(PairSort.byIntKey(seconds, size));
+    }
+
+    private void reorder(int[] order) {
+        int[] newFirsts = new int[firsts.length];
+        int[] newSeconds = new int[seconds.length];
+        for (int i = 0; i < size; i++) {
+            newFirsts[i] = firsts[order[i]];
+            newSeconds[i] = seconds[order[i]];
+        }
+        firsts = newFirsts;
+        seconds = newSeconds;
+    }
+
+    public class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            return ++index < size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int first() {
+            return firsts[index];
+        }
+
+        public int second() {
+            return seconds[index];
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package gen1_intro.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Список пар, хранящий первые и вторые значения в двух отдельных массивах
+ * вместо миллионов объектов {@link Pair}.
+ * <p>
+ * Обход - через {@link Cursor} без создания объектов на элемент; объект Pair
+ * создается только по запросу ({@link #pair(int)}, {@link #asPairs()}).
+ *
+ * @param <A> тип первого значения
+ * @param <B> тип второго значения
+ */
+public class PairList<A, B> {
+    private Object[] firsts;
+    private Object[] seconds;
+    private int size;
+
+    public PairList() {
+        this(10);
+    }
+
+    public PairList(int capacity) {
+        firsts = new Object[capacity];
+        seconds = new Object[capacity];
+    }
+
+    public void add(A first, B second) {
+        if (size == firsts.length) {
+            int capacity = Math.max(8, size + (size >> 1));
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+        }
+        firsts[size] = first;
+        seconds[size] = second;
+        size++;
+    }
+
+    public A getFirst(int index) {
+        Objects.checkIndex(index, size);
+        return first(index);
+    }
+
+    public B getSecond(int index) {
+        Objects.checkIndex(index, size);
+        return second(index);
+    }
+
+    public void setFirst(int index, A first) {
+        Objects.checkIndex(index, size);
+        firsts[index] = first;
+    }
+
+    public void setSecond(int index, B second) {
+        Objects.checkIndex(index, size);
+        seconds[index] = second;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Новый объект Pair с копией значений; изменения в нем не попадают в список
+    public Pair<A, B> pair(int index) {
+        Objects.checkIndex(index, size);
+        return new Pair<>(first(index), second(index));
+    }
+
+    // Список пар поверх массивов: Pair создается при каждом get
+    public List<Pair<A, B>> asPairs() {
+        return new AbstractList<>() {
+            @Override
+            public Pair<A, B> get(int index) {
+                return pair(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public void sortByFirst(Comparator<? super A> comparator) {
+        reorder(PairSort.stable(size, (i, j) -> comparator.compare(first(i), first(j))));
+    }
+
+    public void sortBySecond(Comparator<? super B> comparator) {
+        reorder(PairSort.stable(size, (i, j) -> comparator.compare(second(i), second(j))));
+    }
+
+    private void reorder(int[] order) {
+        Object[] newFirsts = new Object[firsts.length];
+        Object[] newSeconds = new Object[seconds.length];
+        for (int i = 0; i < size; i++) {
+            newFirsts[i] = firsts[order[i]];
+            newSeconds[i] = seconds[order[i]];
+        }
+        firsts = newFirsts;
+        seconds = newSeconds;
+    }
+
+    @SuppressWarnings("unchecked")
+    private A first(int index) {
+        return (A) firsts[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private B second(int index) {
+        return (B) seconds[index];
+    }
+
+    /**
+     * Курсор по списку: {@code while (cursor.next()) { cursor.first(); cursor.second(); }}.
+     */
+    public class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            return ++index < size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public A first() {
+            return PairList.this.first(index);
+        }
+
+        public B second() {
+            return PairList.this.second(index);
+        }
+    }
+}
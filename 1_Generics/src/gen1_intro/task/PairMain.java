@@ -2,6 +2,25 @@ package gen1_intro.task;
 
 public class PairMain {
     public static void main(String[] args) {
+        Pair<Integer, String> pair = new Pair<>(1, "one");
+        System.out.println(pair);
 
+        pair.setFirst(2);
+        pair.setSecond("two");
+        System.out.println(pair.getFirst());
+        System.out.println(pair.getSecond());
+
+        // Много пар: значения хранятся в двух массивах, Pair создается только при запросе
+        IntDoublePairList prices = new IntDoublePairList();
+        prices.add(3, 9.5);
+        prices.add(1, 12.0);
+        prices.add(2, 7.25);
+
+        prices.sortBySecond();
+        IntDoublePairList.Cursor cursor = prices.cursor();
+        while (cursor.next()) {
+            System.out.println(cursor.first() + " -> " + cursor.second());
+        }
+        System.out.println(prices.pair(0));
     }
 }
@@ -0,0 +1,58 @@
+package gen1_intro.task;
+
+import java.util.Arrays;
+
+/**
+ * Порядок сортировки для списков пар: возвращает перестановку индексов,
+ * по которой список переставляет оба массива сразу. Сортировки устойчивые.
+ */
+final class PairSort {
+    private PairSort() {
+    }
+
+    // Сравнение элементов списка по их индексам
+    @FunctionalInterface
+    interface IndexComparator {
+        int compare(int i, int j);
+    }
+
+    // Ключи int: ключ и индекс упаковываются в long, и сортируется примитивный массив
+    static int[] byIntKey(int[] keys, int size) {
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    // Произвольное сравнение: сортировка слиянием массива индексов
+    static int[] stable(int size, IndexComparator comparator) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int from = 0; from < size - width; from += 2 * width) {
+                merge(order, buffer, from, from + width, Math.min(from + 2 * width, size), comparator);
+            }
+        }
+        return order;
+    }
+
+    private static void merge(int[] order, int[] buffer, int from, int middle, int to, IndexComparator comparator) {
+        if (comparator.compare(order[middle - 1], order[middle]) <= 0) return; // Уже упорядочено
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from, right = middle;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < middle && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                order[k] = buffer[left++];
+            } else {
+                order[k] = buffer[right++];
+            }
+        }
+    }
+}
@@ -1,5 +1,176 @@
 package gen3_generics_vs_templates.task;
 
-public class Dictionary {
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
+/**
+ * Словарь "ключ-значение" с открытой адресацией.
+ * <p>
+ * Вместо списка объектов Entry ключи и значения лежат в двух плоских массивах:
+ * слот i занят, если keys[i] != null. Коллизии разрешаются линейным пробированием,
+ * удаление сдвигает следующие записи цепочки назад (без "надгробий"), поэтому
+ * поиск не замедляется после многих удалений. Емкость - степень двойки, таблица
+ * удваивается при достижении коэффициента заполнения.
+ *
+ * @param <K> тип ключа (null не допускается)
+ * @param <V> тип значения
+ */
+public class Dictionary<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.7f;
+
+    private final float loadFactor;
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+    private int threshold;
+    private int shift; // 32 - log2(емкость): индекс берется из старших битов перемешанного хеша
+
+    public Dictionary() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public Dictionary(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public Dictionary(int expectedSize, float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Коэффициент заполнения должен быть в (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
+
+    // Добавляет пару или заменяет значение существующего ключа; возвращает прежнее значение
+    public V add(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        int mask = keys.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            Object current = keys[i];
+            if (current == null) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size > threshold) grow();
+                return null;
+            }
+            if (current.equals(key)) {
+                V previous = value(i);
+                values[i] = value;
+                return previous;
+            }
+        }
+    }
+
+    public V get(K key) {
+        int i = indexOf(key);
+        if (i < 0) throw new NoSuchElementException("Key not found: " + key);
+        return value(i);
+    }
+
+    public V getOrDefault(K key, V defaultValue) {
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : value(i);
+    }
+
+    public boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    public V remove(K key) {
+        int i = indexOf(key);
+        if (i < 0) throw new NoSuchElementException("Key not found: " + key);
+        V previous = value(i);
+        shiftBack(i);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) action.accept(key(i), value(i));
+        }
+    }
+
+    public void print() {
+        forEach((key, value) -> System.out.println(key + ": " + value));
+    }
+
+    private int indexOf(Object key) {
+        if (key == null) return -1;
+        int mask = keys.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            Object current = keys[i];
+            if (current == null) return -1;
+            if (current.equals(key)) return i;
+        }
+    }
+
+    // Удаление без надгробий: записи, которые могли бы стоять в освободившемся слоте, сдвигаются назад
+    private void shiftBack(int free) {
+        int mask = keys.length - 1;
+        for (int i = (free + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            // Запись остается на месте, если ее домашний слот лежит циклически в (free, i]
+            boolean stays = free <= i ? free < home && home <= i : free < home || home <= i;
+            if (!stays) {
+                keys[free] = keys[i];
+                values[free] = values[i];
+                free = i;
+            }
+        }
+        keys[free] = null;
+        values[free] = null;
+    }
+
+    private int slot(Object key) {
+        // Фибоначчиево хеширование: перемешивает плохие hashCode (например, последовательные Integer)
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+
+    private void grow() {
+        if (keys.length == 1 << 30) throw new IllegalStateException("Достигнута максимальная емкость");
+        allocate(keys.length * 2);
+    }
+
+    private void allocate(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = (int) (capacity * loadFactor);
+        if (oldKeys == null) return;
+
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key == null) continue;
+            int i = slot(key);
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+
+    static int capacityFor(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1;
+        if (needed > 1 << 30) throw new IllegalArgumentException("Слишком большой словарь: " + expectedSize);
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int i) {
+        return (K) keys[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int i) {
+        return (V) values[i];
+    }
 }
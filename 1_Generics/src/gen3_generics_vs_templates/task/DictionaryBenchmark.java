@@ -0,0 +1,90 @@
+package gen3_generics_vs_templates.task;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Сравнение {@link Dictionary} и {@link IntObjectDictionary} с {@link HashMap}:
+ * занимаемая память и среднее время add/put и get на операцию.
+ * <p>
+ * Размеры задаются аргументами (по умолчанию 1M и 10M). Для 100M нужна большая куча,
+ * например {@code java -Xmx24g gen3_generics_vs_templates.task.DictionaryBenchmark 100000000}.
+ * Ключи случайные и упакованы заранее, чтобы в память структуры не попали сами Integer.
+ */
+public class DictionaryBenchmark {
+    private static final Object VALUE = new Object();
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[]{1_000_000, 10_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+        for (int size : sizes) {
+            int[] keys = new Random(size).ints(size).toArray();
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) boxed[i] = keys[i];
+
+            System.out.println("Элементов: " + size);
+            // Первый прогон прогревает JIT, в таблицу идет второй
+            for (int round = 0; round < 2; round++) {
+                boolean report = round == 1;
+                measure("HashMap<Integer, Object>", size, report, new Target() {
+                    HashMap<Integer, Object> map;
+                    public void create() { map = new HashMap<>(); }
+                    public void put() { for (Integer key : boxed) map.put(key, VALUE); }
+                    public long get() { long n = 0; for (Integer key : boxed) if (map.get(key) != null) n++; return n; }
+                    public void release() { map = null; }
+                });
+                measure("Dictionary<Integer, Object>", size, report, new Target() {
+                    Dictionary<Integer, Object> dictionary;
+                    public void create() { dictionary = new Dictionary<>(); }
+                    public void put() { for (Integer key : boxed) dictionary.add(key, VALUE); }
+                    public long get() { long n = 0; for (Integer key : boxed) if (dictionary.getOrDefault(key, null) != null) n++; return n; }
+                    public void release() { dictionary = null; }
+                });
+                measure("IntObjectDictionary<Object>", size, report, new Target() {
+                    IntObjectDictionary<Object> dictionary;
+                    public void create() { dictionary = new IntObjectDictionary<>(); }
+                    public void put() { for (int key : keys) dictionary.add(key, VALUE); }
+                    public long get() { long n = 0; for (int key : keys) if (dictionary.getOrDefault(key, null) != null) n++; return n; }
+                    public void release() { dictionary = null; }
+                });
+            }
+        }
+    }
+
+    private static void measure(String name, int size, boolean report, Target target) {
+        long before = usedMemory();
+        target.create();
+        long start = System.nanoTime();
+        target.put();
+        long putTime = System.nanoTime() - start;
+        long memory = usedMemory() - before;
+
+        start = System.nanoTime();
+        long found = target.get();
+        long getTime = System.nanoTime() - start;
+        target.release();
+
+        if (report) {
+            System.out.printf("  %-30s память %7.1f МБ (%5.1f Б/элемент), put %6.1f нс, get %6.1f нс  [%d]%n",
+                    name, memory / 1e6, (double) memory / size,
+                    (double) putTime / size, (double) getTime / size, found);
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface Target {
+        void create();
+
+        void put();
+
+        long get();
+
+        void release();
+    }
+}
@@ -2,18 +2,18 @@ package gen3_generics_vs_templates.task;
 
 public class DictionaryMain {
     public static void main(String[] args) {
-//        Dictionary<String, Integer> dict = new Dictionary<>();
-//        dict.add("Alice", 25);
-//        dict.add("Bob", 30);
-//        dict.add("Charlie", 35);
-//
-//        System.out.println("Current Dictionary:");
-//        dict.print();
-//
-//        System.out.println("Value for key 'Alice': " + dict.get("Alice"));
-//
-//        dict.remove("Bob");
-//        System.out.println("After removing 'Bob':");
-//        dict.print();
+        Dictionary<String, Integer> dict = new Dictionary<>();
+        dict.add("Alice", 25);
+        dict.add("Bob", 30);
+        dict.add("Charlie", 35);
+
+        System.out.println("Current Dictionary:");
+        dict.print();
+
+        System.out.println("Value for key 'Alice': " + dict.get("Alice"));
+
+        dict.remove("Bob");
+        System.out.println("After removing 'Bob':");
+        dict.print();
     }
 }
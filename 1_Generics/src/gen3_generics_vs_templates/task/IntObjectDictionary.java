@@ -0,0 +1,187 @@
+package gen3_generics_vs_templates.task;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Словарь с ключами {@code int} без упаковки: ключи в массиве {@code int[]}, значения в Object[].
+ * <p>
+ * Устроен как {@link Dictionary}: линейное пробирование и удаление сдвигом назад.
+ * Пустой слот обозначается ключом 0, поэтому значение для самого ключа 0 хранится отдельно.
+ *
+ * @param <V> тип значения
+ */
+public class IntObjectDictionary<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.7f;
+
+    private final float loadFactor;
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int threshold;
+    private int shift;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    /**
+     * Действие над парой с примитивным ключом (BiConsumer упаковал бы ключ).
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    public IntObjectDictionary() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectDictionary(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectDictionary(int expectedSize, float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Коэффициент заполнения должен быть в (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(Dictionary.capacityFor(expectedSize, loadFactor));
+    }
+
+    public V add(int key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return previous;
+        }
+        int mask = keys.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int current = keys[i];
+            if (current == 0) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size - (hasZeroKey ? 1 : 0) > threshold) grow();
+                return null;
+            }
+            if (current == key) {
+                V previous = value(i);
+                values[i] = value;
+                return previous;
+            }
+        }
+    }
+
+    public V get(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) throw new NoSuchElementException("Key not found: " + key);
+            return zeroValue;
+        }
+        int i = indexOf(key);
+        if (i < 0) throw new NoSuchElementException("Key not found: " + key);
+        return value(i);
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : value(i);
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    public V remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) throw new NoSuchElementException("Key not found: " + key);
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int i = indexOf(key);
+        if (i < 0) throw new NoSuchElementException("Key not found: " + key);
+        V previous = value(i);
+        shiftBack(i);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(EntryConsumer<? super V> action) {
+        if (hasZeroKey) action.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) action.accept(keys[i], value(i));
+        }
+    }
+
+    public void print() {
+        forEach((key, value) -> System.out.println(key + ": " + value));
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int current = keys[i];
+            if (current == 0) return -1;
+            if (current == key) return i;
+        }
+    }
+
+    private void shiftBack(int free) {
+        int mask = keys.length - 1;
+        for (int i = (free + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            boolean stays = free <= i ? free < home && home <= i : free < home || home <= i;
+            if (!stays) {
+                keys[free] = keys[i];
+                values[free] = values[i];
+                free = i;
+            }
+        }
+        keys[free] = 0;
+        values[free] = null;
+    }
+
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    private void grow() {
+        if (keys.length == 1 << 30) throw new IllegalStateException("Достигнута максимальная емкость");
+        allocate(keys.length * 2);
+    }
+
+    private void allocate(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = (int) (capacity * loadFactor);
+        if (oldKeys == null) return;
+
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key == 0) continue;
+            int i = slot(key);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int i) {
+        return (V) values[i];
+    }
+}
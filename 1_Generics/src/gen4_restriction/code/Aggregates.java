@@ -0,0 +1,75 @@
+package gen4_restriction.code;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Выбор реализации циклов и параллельный путь для больших массивов.
+ * <p>
+ * Векторные циклы лежат в отдельном каталоге src-vector, чтобы src собирался обычным javac.
+ * Они используются, если этот каталог собран вместе с src и в загрузочном слое есть модуль
+ * jdk.incubator.vector (запуск с {@code --add-modules jdk.incubator.vector}); иначе - скалярные.
+ * Массивы от {@link #PARALLEL_THRESHOLD} элементов делятся пополам в общем ForkJoinPool
+ * до участков по {@link #LEAF_SIZE}, частичные результаты объединяются.
+ */
+final class Aggregates {
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    static final int LEAF_SIZE = 1 << 16;
+
+    static final Kernels SCALAR = new ScalarKernels();
+    static final Kernels KERNELS = loadKernels();
+
+    private Aggregates() {
+    }
+
+    private static Kernels loadKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (Kernels) Class.forName("gen4_restriction.code.VectorKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Класс собран без модуля - остаемся на скалярных циклах
+            }
+        }
+        return SCALAR;
+    }
+
+    // Участок массива, посчитанный одной реализацией циклов
+    interface Range<R> {
+        R apply(Kernels kernels, int from, int to);
+    }
+
+    static <R> R aggregate(int size, Range<R> range, BinaryOperator<R> combine) {
+        if (size < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return range.apply(KERNELS, 0, size);
+        }
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(range, combine, 0, size));
+    }
+
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Range<R> range;
+        private final BinaryOperator<R> combine;
+        private final int from;
+        private final int to;
+
+        RangeTask(Range<R> range, BinaryOperator<R> combine, int from, int to) {
+            this.range = range;
+            this.combine = combine;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= LEAF_SIZE) return range.apply(KERNELS, from, to);
+            int middle = (from + to) >>> 1;
+            RangeTask<R> left = new RangeTask<>(range, combine, from, middle);
+            left.fork();
+            R right = new RangeTask<>(range, combine, middle, to).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+}
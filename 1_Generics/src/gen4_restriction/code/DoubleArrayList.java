@@ -0,0 +1,139 @@
+package gen4_restriction.code;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Список значений {@code double}, хранящихся в массиве {@code double[]} без упаковки.
+ * Реализует {@code List<Double>}, поэтому передается везде, где ждут {@code List<? extends Number>};
+ * агрегаты {@link #sum()}, {@link #min()}, {@link #max()} считаются по массиву напрямую.
+ */
+public class DoubleArrayList extends AbstractList<Double> implements NumericList, RandomAccess {
+    private static final double[] EMPTY = {};
+
+    private double[] data;
+    private int size;
+
+    public DoubleArrayList() {
+        data = EMPTY;
+    }
+
+    public DoubleArrayList(int capacity) {
+        data = new double[capacity];
+    }
+
+    public static DoubleArrayList of(double... values) {
+        DoubleArrayList list = new DoubleArrayList();
+        list.data = values.clone();
+        list.size = values.length;
+        return list;
+    }
+
+    public boolean add(double value) {
+        if (size == data.length) data = Arrays.copyOf(data, Math.max(8, size + (size >> 1)));
+        data[size++] = value;
+        modCount++;
+        return true;
+    }
+
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    public double setDouble(int index, double value) {
+        Objects.checkIndex(index, size);
+        double previous = data[index];
+        data[index] = value;
+        return previous;
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    public double sum() {
+        double[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.sum(values, from, to), Double::sum);
+    }
+
+    public double min() {
+        requireNotEmpty();
+        double[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.min(values, from, to), Double::min);
+    }
+
+    public double max() {
+        requireNotEmpty();
+        double[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.max(values, from, to), Double::max);
+    }
+
+    @Override
+    public double sumAsDouble() {
+        return sum();
+    }
+
+    @Override
+    public double minAsDouble() {
+        return min();
+    }
+
+    @Override
+    public double maxAsDouble() {
+        return max();
+    }
+
+    // Методы List: значения упаковываются только при обращении через общий интерфейс
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public Double set(int index, Double element) {
+        return setDouble(index, element);
+    }
+
+    @Override
+    public boolean add(Double element) {
+        return add(element.doubleValue());
+    }
+
+    @Override
+    public void add(int index, Double element) {
+        Objects.checkIndex(index, size + 1);
+        add(element.doubleValue());
+        System.arraycopy(data, index, data, index + 1, size - 1 - index);
+        data[index] = element;
+    }
+
+    @Override
+    public Double remove(int index) {
+        Objects.checkIndex(index, size);
+        double previous = data[index];
+        System.arraycopy(data, index + 1, data, index, size - 1 - index);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void requireNotEmpty() {
+        if (size == 0) throw new NoSuchElementException("Список пуст");
+    }
+}
@@ -0,0 +1,139 @@
+package gen4_restriction.code;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Список значений {@code int}, хранящихся в массиве {@code int[]} без упаковки.
+ * Реализует {@code List<Integer>}, поэтому передается везде, где ждут {@code List<? extends Number>};
+ * агрегаты {@link #sum()}, {@link #min()}, {@link #max()} считаются по массиву напрямую.
+ */
+public class IntArrayList extends AbstractList<Integer> implements NumericList, RandomAccess {
+    private static final int[] EMPTY = {};
+
+    private int[] data;
+    private int size;
+
+    public IntArrayList() {
+        data = EMPTY;
+    }
+
+    public IntArrayList(int capacity) {
+        data = new int[capacity];
+    }
+
+    public static IntArrayList of(int... values) {
+        IntArrayList list = new IntArrayList();
+        list.data = values.clone();
+        list.size = values.length;
+        return list;
+    }
+
+    public boolean add(int value) {
+        if (size == data.length) data = Arrays.copyOf(data, Math.max(8, size + (size >> 1)));
+        data[size++] = value;
+        modCount++;
+        return true;
+    }
+
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    public int setInt(int index, int value) {
+        Objects.checkIndex(index, size);
+        int previous = data[index];
+        data[index] = value;
+        return previous;
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    public long sum() {
+        int[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.sum(values, from, to), Long::sum);
+    }
+
+    public int min() {
+        requireNotEmpty();
+        int[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.min(values, from, to), Integer::min);
+    }
+
+    public int max() {
+        requireNotEmpty();
+        int[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.max(values, from, to), Integer::max);
+    }
+
+    @Override
+    public double sumAsDouble() {
+        return sum();
+    }
+
+    @Override
+    public double minAsDouble() {
+        return min();
+    }
+
+    @Override
+    public double maxAsDouble() {
+        return max();
+    }
+
+    // Методы List: значения упаковываются только при обращении через общий интерфейс
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        return add(element.intValue());
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        Objects.checkIndex(index, size + 1);
+        add(element.intValue());
+        System.arraycopy(data, index, data, index + 1, size - 1 - index);
+        data[index] = element;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        Objects.checkIndex(index, size);
+        int previous = data[index];
+        System.arraycopy(data, index + 1, data, index, size - 1 - index);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void requireNotEmpty() {
+        if (size == 0) throw new NoSuchElementException("Список пуст");
+    }
+}
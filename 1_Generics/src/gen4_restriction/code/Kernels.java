@@ -0,0 +1,25 @@
+package gen4_restriction.code;
+
+/**
+ * Циклы агрегации по участку [from, to) примитивного массива.
+ * Реализации: {@link ScalarKernels} и VectorKernels (необязательный каталог исходников src-vector).
+ */
+interface Kernels {
+    long sum(int[] values, int from, int to);
+
+    int min(int[] values, int from, int to);
+
+    int max(int[] values, int from, int to);
+
+    long sum(long[] values, int from, int to);
+
+    long min(long[] values, int from, int to);
+
+    long max(long[] values, int from, int to);
+
+    double sum(double[] values, int from, int to);
+
+    double min(double[] values, int from, int to);
+
+    double max(double[] values, int from, int to);
+}
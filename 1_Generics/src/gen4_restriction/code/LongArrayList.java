@@ -0,0 +1,166 @@
+package gen4_restriction.code;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Список значений {@code long}, хранящихся в массиве {@code long[]} без упаковки.
+ * Реализует {@code List<Long>}, поэтому передается везде, где ждут {@code List<? extends Number>};
+ * агрегаты {@link #sum()}, {@link #min()}, {@link #max()} считаются по массиву напрямую.
+ */
+public class LongArrayList extends AbstractList<Long> implements NumericList, RandomAccess {
+    private static final long[] EMPTY = {};
+
+    private long[] data;
+    private int size;
+
+    public LongArrayList() {
+        data = EMPTY;
+    }
+
+    public LongArrayList(int capacity) {
+        data = new long[capacity];
+    }
+
+    public static LongArrayList of(long... values) {
+        LongArrayList list = new LongArrayList();
+        list.data = values.clone();
+        list.size = values.length;
+        return list;
+    }
+
+    public boolean add(long value) {
+        if (size == data.length) data = Arrays.copyOf(data, Math.max(8, size + (size >> 1)));
+        data[size++] = value;
+        modCount++;
+        return true;
+    }
+
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    public long setLong(int index, long value) {
+        Objects.checkIndex(index, size);
+        long previous = data[index];
+        data[index] = value;
+        return previous;
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    // Сумма по модулю 2^64, как у обычного сложения long: при переполнении результат заворачивается.
+    // Точное значение без переполнения дает sumAsDouble()
+    public long sum() {
+        long[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.sum(values, from, to), Long::sum);
+    }
+
+    public long min() {
+        requireNotEmpty();
+        long[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.min(values, from, to), Long::min);
+    }
+
+    public long max() {
+        requireNotEmpty();
+        long[] values = data;
+        return Aggregates.aggregate(size, (kernels, from, to) -> kernels.max(values, from, to), Long::max);
+    }
+
+    // Сумма копится в двух словах (128 бит) и приводится к double один раз, поэтому не переполняется
+    @Override
+    public double sumAsDouble() {
+        long[] values = data;
+        long[] sum = Aggregates.aggregate(size, (kernels, from, to) -> wideSum(values, from, to),
+                LongArrayList::addWide);
+        // Старшее слово с учетом знака младшего: значение = high' * 2^64 + (long) low
+        return (double) (sum[0] + (sum[1] >>> 63)) * 0x1p64 + (double) sum[1];
+    }
+
+    @Override
+    public double minAsDouble() {
+        return min();
+    }
+
+    @Override
+    public double maxAsDouble() {
+        return max();
+    }
+
+    // Точная сумма участка: {старшее слово, младшее слово без знака}
+    private static long[] wideSum(long[] values, int from, int to) {
+        long high = 0;
+        long low = 0;
+        for (int i = from; i < to; i++) {
+            long value = values[i];
+            long next = low + value;
+            // Знаковое расширение слагаемого и перенос из младшего слова
+            high += (value >> 63) + (Long.compareUnsigned(next, low) < 0 ? 1 : 0);
+            low = next;
+        }
+        return new long[]{high, low};
+    }
+
+    private static long[] addWide(long[] a, long[] b) {
+        long low = a[1] + b[1];
+        long high = a[0] + b[0] + (Long.compareUnsigned(low, a[1]) < 0 ? 1 : 0);
+        return new long[]{high, low};
+    }
+
+    // Методы List: значения упаковываются только при обращении через общий интерфейс
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+        return setLong(index, element);
+    }
+
+    @Override
+    public boolean add(Long element) {
+        return add(element.longValue());
+    }
+
+    @Override
+    public void add(int index, Long element) {
+        Objects.checkIndex(index, size + 1);
+        add(element.longValue());
+        System.arraycopy(data, index, data, index + 1, size - 1 - index);
+        data[index] = element;
+    }
+
+    @Override
+    public Long remove(int index) {
+        Objects.checkIndex(index, size);
+        long previous = data[index];
+        System.arraycopy(data, index + 1, data, index, size - 1 - index);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void requireNotEmpty() {
+        if (size == 0) throw new NoSuchElementException("Список пуст");
+    }
+}
@@ -0,0 +1,21 @@
+package gen4_restriction.code;
+
+/**
+ * Список чисел, хранящий значения в примитивном массиве.
+ * Агрегаты считаются по массиву напрямую, без упаковки и виртуального вызова doubleValue()
+ * на каждый элемент.
+ */
+public interface NumericList {
+    int size();
+
+    double sumAsDouble();
+
+    double minAsDouble();
+
+    double maxAsDouble();
+
+    // Среднее значение; для пустого списка - NaN
+    default double average() {
+        return sumAsDouble() / size();
+    }
+}
@@ -5,6 +5,10 @@ import java.util.List;
 public class OverRestrictionMain {
     // Метод для суммирования всех элементов списка, который принимает любой тип, наследующий Number
     public static double sumOfList(List<? extends Number> list) {
+        // Примитивные списки считают сумму по своему массиву, без упаковки элементов
+        if (list instanceof NumericList) {
+            return ((NumericList) list).sumAsDouble();
+        }
         double sum = 0.0;
         for (Number num : list) {
             sum += num.doubleValue();
@@ -18,5 +22,9 @@ public class OverRestrictionMain {
 
         System.out.println(sumOfList(intList));    // Вывод: 6.0
         System.out.println(sumOfList(doubleList)); // Вывод: 6.6
+
+        // Те же данные в примитивных списках: вызов не меняется
+        System.out.println(sumOfList(IntArrayList.of(1, 2, 3)));          // Вывод: 6.0
+        System.out.println(sumOfList(DoubleArrayList.of(1.1, 2.2, 3.3))); // Вывод: 6.6
     }
 }
@@ -0,0 +1,91 @@
+package gen4_restriction.code;
+
+/**
+ * Скалярные циклы. Развернуты на 4 независимых аккумулятора, чтобы сложения
+ * не ждали друг друга; JIT при возможности векторизует их и сам.
+ */
+final class ScalarKernels implements Kernels {
+    @Override
+    public long sum(int[] values, int from, int to) {
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) s0 += values[i];
+        return s0 + s1 + s2 + s3;
+    }
+
+    @Override
+    public int min(int[] values, int from, int to) {
+        int result = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) result = Math.min(result, values[i]);
+        return result;
+    }
+
+    @Override
+    public int max(int[] values, int from, int to) {
+        int result = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) result = Math.max(result, values[i]);
+        return result;
+    }
+
+    @Override
+    public long sum(long[] values, int from, int to) {
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) s0 += values[i];
+        return s0 + s1 + s2 + s3;
+    }
+
+    @Override
+    public long min(long[] values, int from, int to) {
+        long result = Long.MAX_VALUE;
+        for (int i = from; i < to; i++) result = Math.min(result, values[i]);
+        return result;
+    }
+
+    @Override
+    public long max(long[] values, int from, int to) {
+        long result = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) result = Math.max(result, values[i]);
+        return result;
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) s0 += values[i];
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double min(double[] values, int from, int to) {
+        double result = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) result = Math.min(result, values[i]);
+        return result;
+    }
+
+    @Override
+    public double max(double[] values, int from, int to) {
+        double result = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) result = Math.max(result, values[i]);
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package gen4_restriction.code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Сравнение суммирования: обобщенный sumOfList по List&lt;Integer&gt;/List&lt;Double&gt;
+ * против примитивных списков (скалярные циклы, Vector API, параллельный путь).
+ * <p>
+ * Запуск: {@code java gen4_restriction.code.SumOfListBenchmark [размер]}; для варианта на Vector API
+ * нужно собрать и каталог src-vector и запускать с {@code --add-modules jdk.incubator.vector}.
+ * Каждый вариант сначала прогревается, затем берется лучшее время из нескольких прогонов.
+ */
+public class SumOfListBenchmark {
+    private static final int WARMUP = 10;
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Random random = new Random(42);
+
+        List<Integer> boxedInts = new ArrayList<>(size);
+        List<Double> boxedDoubles = new ArrayList<>(size);
+        IntArrayList ints = new IntArrayList(size);
+        DoubleArrayList doubles = new DoubleArrayList(size);
+        for (int i = 0; i < size; i++) {
+            int value = random.nextInt(1_000_000);
+            boxedInts.add(value);
+            boxedDoubles.add(value / 3.0);
+            ints.add(value);
+            doubles.add(value / 3.0);
+        }
+        int[] intArray = ints.toIntArray();
+        double[] doubleArray = doubles.toDoubleArray();
+
+        System.out.println("Элементов: " + size + ", циклы: " + Aggregates.KERNELS.getClass().getSimpleName());
+        measure("sumOfList(List<Integer>)", () -> OverRestrictionMain.sumOfList(boxedInts));
+        measure("IntArrayList, скалярно", () -> Aggregates.SCALAR.sum(intArray, 0, intArray.length));
+        measure("IntArrayList, " + kernelsName(), () -> Aggregates.KERNELS.sum(intArray, 0, intArray.length));
+        measure("IntArrayList.sum()", ints::sum);
+        measure("sumOfList(List<Double>)", () -> OverRestrictionMain.sumOfList(boxedDoubles));
+        measure("DoubleArrayList, скалярно", () -> Aggregates.SCALAR.sum(doubleArray, 0, doubleArray.length));
+        measure("DoubleArrayList, " + kernelsName(), () -> Aggregates.KERNELS.sum(doubleArray, 0, doubleArray.length));
+        measure("DoubleArrayList.sum()", doubles::sum);
+        measure("IntArrayList.min()+max()", () -> ints.min() + ints.max());
+    }
+
+    private static String kernelsName() {
+        return Aggregates.KERNELS == Aggregates.SCALAR ? "скалярно (Vector API недоступен)" : "Vector API";
+    }
+
+    private static void measure(String name, Sum sum) {
+        double sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += sum.compute();
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            sink += sum.compute();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-45s %8.2f мс  (%s)%n", name, best / 1e6, sink);
+    }
+
+    private interface Sum {
+        double compute();
+    }
+}
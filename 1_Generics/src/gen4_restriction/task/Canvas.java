@@ -1,4 +1,24 @@
 package gen4_restriction.task;
 
+import java.util.List;
+
 public class Canvas {
+    // Ограничение снизу: в список фигур (или их супертипов) можно добавить любую фигуру
+    public static void addShape(List<? super Shape> list, Shape shape) {
+        list.add(shape);
+    }
+
+    // Ограничение сверху: из списка любых фигур можно читать Shape
+    public static void drawShapes(List<? extends Shape> list) {
+        for (Shape shape : list) {
+            shape.draw();
+        }
+    }
+
+    // Отрисовка в приемник; для больших сцен быстрее Scene и SceneRenderer
+    public static void drawShapes(List<? extends Shape> list, ShapeSink sink) {
+        for (Shape shape : list) {
+            shape.drawTo(sink);
+        }
+    }
 }
@@ -1,4 +1,39 @@
 package gen4_restriction.task;
 
-public class Circle {
+public class Circle implements Shape {
+    private final float x;
+    private final float y;
+    private final float radius;
+
+    public Circle() {
+        this(0, 0, 1);
+    }
+
+    public Circle(float x, float y, float radius) {
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    @Override
+    public void draw() {
+        System.out.println("Рисуется круг");
+    }
+
+    @Override
+    public void drawTo(ShapeSink sink) {
+        sink.circle(x, y, radius);
+    }
 }
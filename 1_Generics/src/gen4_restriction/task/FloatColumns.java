@@ -0,0 +1,38 @@
+package gen4_restriction.task;
+
+import java.util.Arrays;
+
+/**
+ * Набор столбцов float одинаковой длины: одно поле фигуры — один непрерывный массив.
+ */
+final class FloatColumns {
+    private float[][] columns;
+    private int size;
+
+    FloatColumns(int columnCount, int capacity) {
+        columns = new float[columnCount][capacity];
+    }
+
+    float[] column(int index) {
+        return columns[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Резервирует строку и возвращает ее индекс
+    int addRow() {
+        if (size == columns[0].length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], capacity);
+            }
+        }
+        return size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
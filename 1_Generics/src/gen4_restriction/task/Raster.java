@@ -0,0 +1,146 @@
+package gen4_restriction.task;
+
+import java.util.Arrays;
+
+/**
+ * Растровый приемник: закрашивает пиксели, центр которых лежит внутри фигуры.
+ * <p>
+ * Рисование ограничено прямоугольником отсечения. {@link #clip} дает вид на те же пиксели с
+ * меньшим отсечением — так плитки параллельной отрисовки пишут каждая в свою область без
+ * блокировок. Результат не зависит от разбиения на плитки.
+ */
+public class Raster implements ShapeSink {
+    public static final int BACKGROUND = 0xFF000000;
+    public static final int CIRCLE_COLOR = 0xFFE04040;
+    public static final int RECTANGLE_COLOR = 0xFF40A0E0;
+    public static final int TRIANGLE_COLOR = 0xFF60C060;
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    // Область отсечения [clipX0, clipX1) x [clipY0, clipY1)
+    private final int clipX0, clipY0, clipX1, clipY1;
+
+    public Raster(int width, int height) {
+        this(width, height, new int[Math.multiplyExact(width, height)], 0, 0, width, height);
+        Arrays.fill(pixels, BACKGROUND);
+    }
+
+    private Raster(int width, int height, int[] pixels, int clipX0, int clipY0, int clipX1, int clipY1) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        this.clipX0 = clipX0;
+        this.clipY0 = clipY0;
+        this.clipX1 = clipX1;
+        this.clipY1 = clipY1;
+    }
+
+    // Вид на те же пиксели, ограниченный пересечением с текущим отсечением
+    public Raster clip(int x0, int y0, int x1, int y1) {
+        return new Raster(width, height, pixels,
+                Math.max(x0, clipX0), Math.max(y0, clipY0), Math.min(x1, clipX1), Math.min(y1, clipY1));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getPixel(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    public void clear() {
+        Arrays.fill(pixels, BACKGROUND);
+    }
+
+    public boolean sameContent(Raster other) {
+        return width == other.width && height == other.height && Arrays.equals(pixels, other.pixels);
+    }
+
+    @Override
+    public void circle(float x, float y, float radius) {
+        if (!Float.isFinite(x) || !Float.isFinite(y) || !Float.isFinite(radius)) {
+            return;
+        }
+        double r2 = (double) radius * radius;
+        int y0 = Math.max(clipY0, (int) Math.floor(y - radius));
+        int y1 = Math.min(clipY1, (int) Math.ceil(y + radius) + 1);
+        for (int py = y0; py < y1; py++) {
+            double dy = py + 0.5 - y;
+            double rest = r2 - dy * dy;
+            if (rest < 0) {
+                continue;
+            }
+            double half = Math.sqrt(rest);
+            // Пиксели, центр которых в [x - half, x + half]
+            fillRow(py, (int) Math.ceil(x - half - 0.5), (int) Math.floor(x + half - 0.5) + 1, CIRCLE_COLOR);
+        }
+    }
+
+    @Override
+    public void rectangle(float x, float y, float width, float height) {
+        if (!Float.isFinite(x) || !Float.isFinite(y) || !Float.isFinite(width) || !Float.isFinite(height)) {
+            return;
+        }
+        // Пиксели, центр которых в [x, x + width) x [y, y + height)
+        int px0 = (int) Math.ceil(x - 0.5);
+        int px1 = (int) Math.ceil(x + width - 0.5);
+        int y0 = Math.max(clipY0, (int) Math.ceil(y - 0.5));
+        int y1 = Math.min(clipY1, (int) Math.ceil(y + height - 0.5));
+        for (int py = y0; py < y1; py++) {
+            fillRow(py, px0, px1, RECTANGLE_COLOR);
+        }
+    }
+
+    @Override
+    public void triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+        double area = edge(x1, y1, x2, y2, x3, y3);
+        // NaN и бесконечности дают нечисловую площадь
+        if (area == 0 || !Double.isFinite(area)) {
+            return;
+        }
+        if (area < 0) {
+            // Приводим обход к одному направлению, чтобы проверка знаков была одинаковой
+            float tx = x2, ty = y2;
+            x2 = x3;
+            y2 = y3;
+            x3 = tx;
+            y3 = ty;
+        }
+        int px0 = Math.max(clipX0, (int) Math.floor(Math.min(x1, Math.min(x2, x3))));
+        int px1 = Math.min(clipX1, (int) Math.ceil(Math.max(x1, Math.max(x2, x3))) + 1);
+        int py0 = Math.max(clipY0, (int) Math.floor(Math.min(y1, Math.min(y2, y3))));
+        int py1 = Math.min(clipY1, (int) Math.ceil(Math.max(y1, Math.max(y2, y3))) + 1);
+        for (int py = py0; py < py1; py++) {
+            double cy = py + 0.5;
+            int row = py * width;
+            for (int px = px0; px < px1; px++) {
+                double cx = px + 0.5;
+                if (edge(x1, y1, x2, y2, cx, cy) >= 0
+                        && edge(x2, y2, x3, y3, cx, cy) >= 0
+                        && edge(x3, y3, x1, y1, cx, cy) >= 0) {
+                    pixels[row + px] = TRIANGLE_COLOR;
+                }
+            }
+        }
+    }
+
+    private void fillRow(int py, int px0, int px1, int color) {
+        int from = Math.max(px0, clipX0);
+        int to = Math.min(px1, clipX1);
+        if (from < to) {
+            int row = py * width;
+            Arrays.fill(pixels, row + from, row + to, color);
+        }
+    }
+
+    // Удвоенная ориентированная площадь треугольника (a, b, c)
+    private static double edge(double ax, double ay, double bx, double by, double cx, double cy) {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+}
@@ -1,4 +1,45 @@
 package gen4_restriction.task;
 
-public class Rectangle {
+public class Rectangle implements Shape {
+    private final float x;
+    private final float y;
+    private final float width;
+    private final float height;
+
+    public Rectangle() {
+        this(0, 0, 1, 1);
+    }
+
+    public Rectangle(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    @Override
+    public void draw() {
+        System.out.println("Рисуется прямоугольник");
+    }
+
+    @Override
+    public void drawTo(ShapeSink sink) {
+        sink.rectangle(x, y, width, height);
+    }
 }
@@ -0,0 +1,114 @@
+package gen4_restriction.task;
+
+import java.util.List;
+
+/**
+ * Сцена в виде отдельных столбцов для каждого типа фигур.
+ * <p>
+ * Вместо списка объектов {@link Shape} координаты хранятся в непрерывных массивах float, по
+ * одному на поле. Отрисовка проходит тип за типом, поэтому места вызова остаются мономорфными,
+ * а данные читаются последовательно.
+ */
+public class Scene {
+    // Индексы столбцов
+    static final int CIRCLE_X = 0, CIRCLE_Y = 1, CIRCLE_R = 2;
+    static final int RECT_X = 0, RECT_Y = 1, RECT_W = 2, RECT_H = 3;
+    static final int TRI_X1 = 0, TRI_Y1 = 1, TRI_X2 = 2, TRI_Y2 = 3, TRI_X3 = 4, TRI_Y3 = 5;
+
+    private final FloatColumns circles;
+    private final FloatColumns rectangles;
+    private final FloatColumns triangles;
+
+    public Scene() {
+        this(16);
+    }
+
+    // Начальная вместимость на каждый тип фигур
+    public Scene(int capacity) {
+        circles = new FloatColumns(3, capacity);
+        rectangles = new FloatColumns(4, capacity);
+        triangles = new FloatColumns(6, capacity);
+    }
+
+    public static Scene from(List<? extends Shape> shapes) {
+        Scene scene = new Scene();
+        for (Shape shape : shapes) {
+            scene.add(shape);
+        }
+        return scene;
+    }
+
+    public void add(Shape shape) {
+        if (shape instanceof Circle) {
+            Circle c = (Circle) shape;
+            addCircle(c.getX(), c.getY(), c.getRadius());
+        } else if (shape instanceof Rectangle) {
+            Rectangle r = (Rectangle) shape;
+            addRectangle(r.getX(), r.getY(), r.getWidth(), r.getHeight());
+        } else if (shape instanceof Triagnle) {
+            Triagnle t = (Triagnle) shape;
+            addTriangle(t.getX1(), t.getY1(), t.getX2(), t.getY2(), t.getX3(), t.getY3());
+        } else {
+            throw new IllegalArgumentException("Неизвестный тип фигуры: " + shape.getClass().getName());
+        }
+    }
+
+    public void addCircle(float x, float y, float radius) {
+        int i = circles.addRow();
+        circles.column(CIRCLE_X)[i] = x;
+        circles.column(CIRCLE_Y)[i] = y;
+        circles.column(CIRCLE_R)[i] = radius;
+    }
+
+    public void addRectangle(float x, float y, float width, float height) {
+        int i = rectangles.addRow();
+        rectangles.column(RECT_X)[i] = x;
+        rectangles.column(RECT_Y)[i] = y;
+        rectangles.column(RECT_W)[i] = width;
+        rectangles.column(RECT_H)[i] = height;
+    }
+
+    public void addTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+        int i = triangles.addRow();
+        triangles.column(TRI_X1)[i] = x1;
+        triangles.column(TRI_Y1)[i] = y1;
+        triangles.column(TRI_X2)[i] = x2;
+        triangles.column(TRI_Y2)[i] = y2;
+        triangles.column(TRI_X3)[i] = x3;
+        triangles.column(TRI_Y3)[i] = y3;
+    }
+
+    public int circleCount() {
+        return circles.size();
+    }
+
+    public int rectangleCount() {
+        return rectangles.size();
+    }
+
+    public int triangleCount() {
+        return triangles.size();
+    }
+
+    public int size() {
+        return circles.size() + rectangles.size() + triangles.size();
+    }
+
+    public void clear() {
+        circles.clear();
+        rectangles.clear();
+        triangles.clear();
+    }
+
+    FloatColumns circles() {
+        return circles;
+    }
+
+    FloatColumns rectangles() {
+        return rectangles;
+    }
+
+    FloatColumns triangles() {
+        return triangles;
+    }
+}
@@ -0,0 +1,98 @@
+package gen4_restriction.task;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Сравнение отрисовки списка объектов {@link Shape} со столбцовой {@link Scene}:
+ * текстовый вывод (draw() на каждую фигуру против {@link TextSink}) и растр
+ * (полиморфный drawTo против прохода по типам и параллельных плиток).
+ * <p>
+ * Запуск: {@code java gen4_restriction.task.SceneBenchmark [число фигур]}.
+ * Вывод идет в пустой поток, чтобы мерить саму отрисовку, а не консоль.
+ */
+public class SceneBenchmark {
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+
+        // Фигуры вперемешку, как они пришли бы в List<Shape>
+        List<Shape> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            float x = random.nextFloat() * WIDTH;
+            float y = random.nextFloat() * HEIGHT;
+            switch (random.nextInt(3)) {
+                case 0:
+                    Canvas.addShape(shapes, new Circle(x, y, 1 + random.nextFloat() * 6));
+                    break;
+                case 1:
+                    Canvas.addShape(shapes, new Rectangle(x, y, 1 + random.nextFloat() * 10, 1 + random.nextFloat() * 10));
+                    break;
+                default:
+                    Canvas.addShape(shapes, new Triagnle(x, y, x + random.nextFloat() * 10, y,
+                            x, y + random.nextFloat() * 10));
+            }
+        }
+        Scene scene = Scene.from(shapes);
+
+        System.out.println("Фигур: " + size + ", растр " + WIDTH + "x" + HEIGHT
+                + ", потоков: " + Runtime.getRuntime().availableProcessors());
+
+        PrintStream console = System.out;
+        PrintStream nullStream = new PrintStream(OutputStream.nullOutputStream());
+        measure(console, "Canvas.drawShapes, System.out на фигуру", () -> {
+            System.setOut(nullStream);
+            try {
+                Canvas.drawShapes(shapes);
+            } finally {
+                System.setOut(console);
+            }
+        });
+        measure(console, "Canvas.drawShapes -> TextSink", () -> {
+            TextSink sink = new TextSink(OutputStream.nullOutputStream());
+            Canvas.drawShapes(shapes, sink);
+            sink.flush();
+        });
+        measure(console, "SceneRenderer.render -> TextSink", () -> {
+            TextSink sink = new TextSink(OutputStream.nullOutputStream());
+            SceneRenderer.render(scene, sink);
+            sink.flush();
+        });
+
+        Raster raster = new Raster(WIDTH, HEIGHT);
+        measure(console, "Canvas.drawShapes -> Raster", () -> {
+            raster.clear();
+            Canvas.drawShapes(shapes, raster);
+        });
+        measure(console, "SceneRenderer.render -> Raster", () -> {
+            raster.clear();
+            SceneRenderer.render(scene, raster);
+        });
+        Raster tiled = new Raster(WIDTH, HEIGHT);
+        measure(console, "SceneRenderer.renderParallel -> Raster", () -> {
+            tiled.clear();
+            SceneRenderer.renderParallel(scene, tiled);
+        });
+        console.println("Растры совпадают: " + raster.sameContent(tiled));
+    }
+
+    private static void measure(PrintStream out, String name, Runnable render) {
+        for (int i = 0; i < WARMUP; i++) render.run();
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            render.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        out.printf("%-45s %8.2f мс%n", name, best / 1e6);
+    }
+}
@@ -0,0 +1,273 @@
+package gen4_restriction.task;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Отрисовка {@link Scene} тип за типом.
+ * <p>
+ * Каждый тип фигур рисуется своим циклом по своим столбцам, поэтому вызов приемника в цикле
+ * мономорфен. Параллельный режим делит растр на плитки: фигуры сначала раскладываются по
+ * плиткам, которые они задевают, затем плитки рисуются независимо в общем пуле ForkJoin.
+ * Порядок наложения внутри плитки тот же, что и при последовательной отрисовке.
+ */
+public final class SceneRenderer {
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private SceneRenderer() {
+    }
+
+    public static void render(Scene scene, ShapeSink sink) {
+        FloatColumns circles = scene.circles();
+        float[] cx = circles.column(Scene.CIRCLE_X);
+        float[] cy = circles.column(Scene.CIRCLE_Y);
+        float[] cr = circles.column(Scene.CIRCLE_R);
+        for (int i = 0, n = circles.size(); i < n; i++) {
+            sink.circle(cx[i], cy[i], cr[i]);
+        }
+
+        FloatColumns rectangles = scene.rectangles();
+        float[] rx = rectangles.column(Scene.RECT_X);
+        float[] ry = rectangles.column(Scene.RECT_Y);
+        float[] rw = rectangles.column(Scene.RECT_W);
+        float[] rh = rectangles.column(Scene.RECT_H);
+        for (int i = 0, n = rectangles.size(); i < n; i++) {
+            sink.rectangle(rx[i], ry[i], rw[i], rh[i]);
+        }
+
+        FloatColumns triangles = scene.triangles();
+        float[] x1 = triangles.column(Scene.TRI_X1);
+        float[] y1 = triangles.column(Scene.TRI_Y1);
+        float[] x2 = triangles.column(Scene.TRI_X2);
+        float[] y2 = triangles.column(Scene.TRI_Y2);
+        float[] x3 = triangles.column(Scene.TRI_X3);
+        float[] y3 = triangles.column(Scene.TRI_Y3);
+        for (int i = 0, n = triangles.size(); i < n; i++) {
+            sink.triangle(x1[i], y1[i], x2[i], y2[i], x3[i], y3[i]);
+        }
+    }
+
+    public static void renderParallel(Scene scene, Raster raster) {
+        renderParallel(scene, raster, DEFAULT_TILE_SIZE);
+    }
+
+    // Параллельная отрисовка плитками tileSize x tileSize
+    public static void renderParallel(Scene scene, Raster raster, int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Размер плитки должен быть положительным: " + tileSize);
+        }
+        TileGrid grid = new TileGrid(raster.getWidth(), raster.getHeight(), tileSize);
+        FloatColumns circles = scene.circles();
+        FloatColumns rectangles = scene.rectangles();
+        FloatColumns triangles = scene.triangles();
+
+        // Раскладка по плиткам: три типа независимы
+        BinTask circleBins = new BinTask(grid, circles.size(), (i, b) -> {
+            float x = circles.column(Scene.CIRCLE_X)[i], y = circles.column(Scene.CIRCLE_Y)[i];
+            float r = circles.column(Scene.CIRCLE_R)[i];
+            b[0] = x - r;
+            b[1] = y - r;
+            b[2] = x + r;
+            b[3] = y + r;
+        });
+        BinTask rectangleBins = new BinTask(grid, rectangles.size(), (i, b) -> {
+            b[0] = rectangles.column(Scene.RECT_X)[i];
+            b[1] = rectangles.column(Scene.RECT_Y)[i];
+            b[2] = b[0] + rectangles.column(Scene.RECT_W)[i];
+            b[3] = b[1] + rectangles.column(Scene.RECT_H)[i];
+        });
+        BinTask triangleBins = new BinTask(grid, triangles.size(), (i, b) -> {
+            float x1 = triangles.column(Scene.TRI_X1)[i], y1 = triangles.column(Scene.TRI_Y1)[i];
+            float x2 = triangles.column(Scene.TRI_X2)[i], y2 = triangles.column(Scene.TRI_Y2)[i];
+            float x3 = triangles.column(Scene.TRI_X3)[i], y3 = triangles.column(Scene.TRI_Y3)[i];
+            b[0] = Math.min(x1, Math.min(x2, x3));
+            b[1] = Math.min(y1, Math.min(y2, y3));
+            b[2] = Math.max(x1, Math.max(x2, x3));
+            b[3] = Math.max(y1, Math.max(y2, y3));
+        });
+        ForkJoinTask.invokeAll(circleBins, rectangleBins, triangleBins);
+
+        new TileTask(scene, raster, grid, circleBins.join(), rectangleBins.join(), triangleBins.join(),
+                0, grid.count).invoke();
+    }
+
+    private static final class TileGrid {
+        final int width, height, tileSize, columns, rows, count;
+
+        TileGrid(int width, int height, int tileSize) {
+            this.width = width;
+            this.height = height;
+            this.tileSize = tileSize;
+            this.columns = (width + tileSize - 1) / tileSize;
+            this.rows = (height + tileSize - 1) / tileSize;
+            this.count = columns * rows;
+        }
+
+        // Номер столбца (строки) плиток для координаты с запасом в пиксель и ограничением растром
+        int column(double x) {
+            return clamp(Math.floor(x) - 1, width) / tileSize;
+        }
+
+        int row(double y) {
+            return clamp(Math.floor(y) - 1, height) / tileSize;
+        }
+
+        int columnEnd(double x) {
+            return clamp(Math.ceil(x) + 1, width) / tileSize;
+        }
+
+        int rowEnd(double y) {
+            return clamp(Math.ceil(y) + 1, height) / tileSize;
+        }
+
+        private static int clamp(double value, int size) {
+            return (int) Math.max(0, Math.min(size - 1, value));
+        }
+    }
+
+    // Границы фигуры i: minX, minY, maxX, maxY
+    private interface Bounds {
+        void read(int index, float[] bounds);
+    }
+
+    // Списки фигур по плиткам: индексы фигур плитки t — items[start[t]..start[t + 1])
+    private static final class Bins {
+        final int[] start;
+        final int[] items;
+
+        Bins(int[] start, int[] items) {
+            this.start = start;
+            this.items = items;
+        }
+    }
+
+    private static final class BinTask extends RecursiveTask<Bins> {
+        private static final long serialVersionUID = 1L;
+
+        private final TileGrid grid;
+        private final int size;
+        private final Bounds bounds;
+
+        BinTask(TileGrid grid, int size, Bounds bounds) {
+            this.grid = grid;
+            this.size = size;
+            this.bounds = bounds;
+        }
+
+        @Override
+        protected Bins compute() {
+            float[] b = new float[4];
+            int[] start = new int[grid.count + 1];
+            long total = 0;
+            // Первый проход: сколько фигур попадет в каждую плитку
+            for (int i = 0; i < size; i++) {
+                bounds.read(i, b);
+                if (!visible(b)) {
+                    continue;
+                }
+                int c0 = grid.column(b[0]), c1 = grid.columnEnd(b[2]);
+                int r0 = grid.row(b[1]), r1 = grid.rowEnd(b[3]);
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) {
+                        start[r * grid.columns + c + 1]++;
+                    }
+                }
+                total += (long) Math.max(0, r1 - r0 + 1) * Math.max(0, c1 - c0 + 1);
+            }
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Слишком много пар фигура-плитка, увеличьте размер плитки");
+            }
+            for (int t = 0; t < grid.count; t++) {
+                start[t + 1] += start[t];
+            }
+            // Второй проход: индексы фигур в порядке возрастания внутри каждой плитки
+            int[] items = new int[(int) total];
+            int[] fill = start.clone();
+            for (int i = 0; i < size; i++) {
+                bounds.read(i, b);
+                if (!visible(b)) {
+                    continue;
+                }
+                int c0 = grid.column(b[0]), c1 = grid.columnEnd(b[2]);
+                int r0 = grid.row(b[1]), r1 = grid.rowEnd(b[3]);
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) {
+                        items[fill[r * grid.columns + c]++] = i;
+                    }
+                }
+            }
+            return new Bins(start, items);
+        }
+
+        // Фигуры целиком за пределами растра и с нечисловыми координатами никуда не попадают
+        private boolean visible(float[] b) {
+            return Float.isFinite(b[0]) && Float.isFinite(b[1]) && Float.isFinite(b[2]) && Float.isFinite(b[3])
+                    && b[2] >= -1 && b[3] >= -1 && b[0] <= grid.width + 1 && b[1] <= grid.height + 1;
+        }
+    }
+
+    private static final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Scene scene;
+        private final Raster raster;
+        private final TileGrid grid;
+        private final Bins circles;
+        private final Bins rectangles;
+        private final Bins triangles;
+        private final int from;
+        private final int to;
+
+        TileTask(Scene scene, Raster raster, TileGrid grid, Bins circles, Bins rectangles, Bins triangles,
+                 int from, int to) {
+            this.scene = scene;
+            this.raster = raster;
+            this.grid = grid;
+            this.circles = circles;
+            this.rectangles = rectangles;
+            this.triangles = triangles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(scene, raster, grid, circles, rectangles, triangles, from, mid),
+                        new TileTask(scene, raster, grid, circles, rectangles, triangles, mid, to));
+                return;
+            }
+            int x0 = (from % grid.columns) * grid.tileSize;
+            int y0 = (from / grid.columns) * grid.tileSize;
+            renderTile(raster.clip(x0, y0, x0 + grid.tileSize, y0 + grid.tileSize), from);
+        }
+
+        private void renderTile(Raster tile, int t) {
+            FloatColumns c = scene.circles();
+            float[] cx = c.column(Scene.CIRCLE_X), cy = c.column(Scene.CIRCLE_Y), cr = c.column(Scene.CIRCLE_R);
+            for (int k = circles.start[t], end = circles.start[t + 1]; k < end; k++) {
+                int i = circles.items[k];
+                tile.circle(cx[i], cy[i], cr[i]);
+            }
+
+            FloatColumns r = scene.rectangles();
+            float[] rx = r.column(Scene.RECT_X), ry = r.column(Scene.RECT_Y);
+            float[] rw = r.column(Scene.RECT_W), rh = r.column(Scene.RECT_H);
+            for (int k = rectangles.start[t], end = rectangles.start[t + 1]; k < end; k++) {
+                int i = rectangles.items[k];
+                tile.rectangle(rx[i], ry[i], rw[i], rh[i]);
+            }
+
+            FloatColumns tr = scene.triangles();
+            float[] x1 = tr.column(Scene.TRI_X1), y1 = tr.column(Scene.TRI_Y1);
+            float[] x2 = tr.column(Scene.TRI_X2), y2 = tr.column(Scene.TRI_Y2);
+            float[] x3 = tr.column(Scene.TRI_X3), y3 = tr.column(Scene.TRI_Y3);
+            for (int k = triangles.start[t], end = triangles.start[t + 1]; k < end; k++) {
+                int i = triangles.items[k];
+                tile.triangle(x1[i], y1[i], x2[i], y2[i], x3[i], y3[i]);
+            }
+        }
+    }
+}
@@ -1,4 +1,9 @@
 package gen4_restriction.task;
 
 public interface Shape {
+    // Выводит на экран сообщение о том, что фигура рисуется
+    void draw();
+
+    // Передает геометрию фигуры приемнику отрисовки
+    void drawTo(ShapeSink sink);
 }
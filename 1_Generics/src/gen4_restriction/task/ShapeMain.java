@@ -1,13 +1,21 @@
 package gen4_restriction.task;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ShapeMain {
     public static void main(String[] args) {
-//        List<Shape> shapes = new ArrayList<>();
-//
-//        Canvas.addShape(shapes, new Circle());
-//        Canvas.addShape(shapes, new Rectangle());
-//        Canvas.addShape(shapes, new Triangle());
-//
-//        Canvas.drawShapes(shapes);
+        List<Shape> shapes = new ArrayList<>();
+
+        Canvas.addShape(shapes, new Circle());
+        Canvas.addShape(shapes, new Rectangle());
+        Canvas.addShape(shapes, new Triagnle());
+
+        Canvas.drawShapes(shapes);
+
+        // Та же сцена в столбцовом виде: тип за типом и через один буфер
+        TextSink sink = new TextSink(System.out);
+        SceneRenderer.render(Scene.from(shapes), sink);
+        sink.flush();
     }
 }
@@ -0,0 +1,12 @@
+package gen4_restriction.task;
+
+/**
+ * Приемник отрисовки: получает геометрию фигур без самих объектов фигур.
+ */
+public interface ShapeSink {
+    void circle(float x, float y, float radius);
+
+    void rectangle(float x, float y, float width, float height);
+
+    void triangle(float x1, float y1, float x2, float y2, float x3, float y3);
+}
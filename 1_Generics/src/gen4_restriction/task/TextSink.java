@@ -0,0 +1,140 @@
+package gen4_restriction.task;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Текстовый приемник: строка на фигуру, как у {@link Shape#draw()}, но с координатами и через один
+ * буфер. Числа форматируются прямо в байты (округлением до целого), без промежуточных строк,
+ * а в поток уходят блоки по размеру буфера.
+ */
+public class TextSink implements ShapeSink, Flushable, AutoCloseable {
+    private static final byte[] CIRCLE = "Рисуется круг".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RECTANGLE = "Рисуется прямоугольник".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TRIANGLE = "Рисуется треугольник".getBytes(StandardCharsets.UTF_8);
+    // Самая длинная строка: название и шесть чисел со знаком и пробелом
+    private static final int MAX_LINE = TRIANGLE.length + 6 * 12 + 1;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private long lines;
+
+    public TextSink(OutputStream out) {
+        this(out, 1 << 16);
+    }
+
+    public TextSink(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, MAX_LINE)];
+    }
+
+    @Override
+    public void circle(float x, float y, float radius) {
+        ensure();
+        putBytes(CIRCLE);
+        putNumber(x);
+        putNumber(y);
+        putNumber(radius);
+        endLine();
+    }
+
+    @Override
+    public void rectangle(float x, float y, float width, float height) {
+        ensure();
+        putBytes(RECTANGLE);
+        putNumber(x);
+        putNumber(y);
+        putNumber(width);
+        putNumber(height);
+        endLine();
+    }
+
+    @Override
+    public void triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+        ensure();
+        putBytes(TRIANGLE);
+        putNumber(x1);
+        putNumber(y1);
+        putNumber(x2);
+        putNumber(y2);
+        putNumber(x3);
+        putNumber(y3);
+        endLine();
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writeBuffer();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writeBuffer();
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Места на одну строку хватает всегда, поэтому проверка делается один раз на фигуру
+    private void ensure() {
+        if (buffer.length - position < MAX_LINE) {
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void putBytes(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void putNumber(float value) {
+        buffer[position++] = ' ';
+        long n = Math.round(value);
+        if (n < 0) {
+            buffer[position++] = '-';
+            n = -n;
+        }
+        // Цифры пишутся с конца, затем переворачиваются на месте
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + n % 10);
+            n /= 10;
+        } while (n != 0);
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private void endLine() {
+        buffer[position++] = '\n';
+        lines++;
+    }
+}
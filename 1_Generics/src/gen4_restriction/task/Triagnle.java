@@ -1,4 +1,57 @@
 package gen4_restriction.task;
 
-public class Triagnle {
+public class Triagnle implements Shape {
+    private final float x1;
+    private final float y1;
+    private final float x2;
+    private final float y2;
+    private final float x3;
+    private final float y3;
+
+    public Triagnle() {
+        this(0, 0, 1, 0, 0, 1);
+    }
+
+    public Triagnle(float x1, float y1, float x2, float y2, float x3, float y3) {
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+        this.x3 = x3;
+        this.y3 = y3;
+    }
+
+    public float getX1() {
+        return x1;
+    }
+
+    public float getY1() {
+        return y1;
+    }
+
+    public float getX2() {
+        return x2;
+    }
+
+    public float getY2() {
+        return y2;
+    }
+
+    public float getX3() {
+        return x3;
+    }
+
+    public float getY3() {
+        return y3;
+    }
+
+    @Override
+    public void draw() {
+        System.out.println("Рисуется треугольник");
+    }
+
+    @Override
+    public void drawTo(ShapeSink sink) {
+        sink.triangle(x1, y1, x2, y2, x3, y3);
+    }
 }
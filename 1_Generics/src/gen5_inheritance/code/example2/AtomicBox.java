@@ -0,0 +1,104 @@
+package gen5_inheritance.code.example2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Потокобезопасный аналог {@link Box} без блокировок.
+ * <p>
+ * Содержимое хранится в volatile-поле, атомарные операции выполняются через {@link VarHandle}.
+ * Наследовать {@link Box} нельзя: его поле content обычное и закрытое, и унаследованные методы
+ * читали бы его в обход атомарных операций.
+ */
+public class AtomicBox<T> {
+    private static final VarHandle CONTENT;
+
+    static {
+        try {
+            CONTENT = MethodHandles.lookup().findVarHandle(AtomicBox.class, "content", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile T content;
+
+    public AtomicBox(T content) {
+        this.content = content;
+    }
+
+    // Чтение и запись с полной видимостью (volatile)
+    public T getContent() {
+        return content;
+    }
+
+    public void setContent(T content) {
+        this.content = content;
+    }
+
+    // Чтение с семантикой acquire: видны все записи, сделанные до парной setRelease
+    @SuppressWarnings("unchecked")
+    public T getAcquire() {
+        return (T) CONTENT.getAcquire(this);
+    }
+
+    // Запись с семантикой release: дешевле volatile-записи, достаточно для публикации значения
+    public void setRelease(T content) {
+        CONTENT.setRelease(this, content);
+    }
+
+    // Сравнение по ссылке, как у AtomicReference
+    public boolean compareAndSet(T expected, T content) {
+        return CONTENT.compareAndSet(this, expected, content);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getAndSet(T content) {
+        return (T) CONTENT.getAndSet(this, content);
+    }
+
+    // Функция может вызываться повторно при конкуренции и не должна иметь побочных эффектов
+    public T updateAndGet(UnaryOperator<T> update) {
+        T current = content;
+        while (true) {
+            T next = update.apply(current);
+            if (weakCompareAndSet(current, next)) {
+                return next;
+            }
+            current = content;
+        }
+    }
+
+    public T getAndUpdate(UnaryOperator<T> update) {
+        T current = content;
+        while (true) {
+            T next = update.apply(current);
+            if (weakCompareAndSet(current, next)) {
+                return current;
+            }
+            current = content;
+        }
+    }
+
+    public T accumulateAndGet(T value, BinaryOperator<T> accumulator) {
+        T current = content;
+        while (true) {
+            T next = accumulator.apply(current, value);
+            if (weakCompareAndSet(current, next)) {
+                return next;
+            }
+            current = content;
+        }
+    }
+
+    public void displayContent() {
+        System.out.println("AtomicBox contains: " + content);
+    }
+
+    // Может ложно вернуть false, поэтому используется только в циклах повтора
+    private boolean weakCompareAndSet(T expected, T content) {
+        return CONTENT.weakCompareAndSet(this, expected, content);
+    }
+}
@@ -0,0 +1,161 @@
+package gen5_inheritance.code.example2;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Сравнение {@link AtomicBox} и {@link AtomicColorBox} с блокировками при конкурентном доступе:
+ * общий счетчик, конфигурация «в основном чтение» и обновление пары содержимое+цвет.
+ * Для пары также считается, сколько раз читатели увидели несогласованные значения.
+ * <p>
+ * Запуск: {@code java gen5_inheritance.code.example2.AtomicBoxBenchmark [потоков]}.
+ * Каждый вариант сначала прогревается, затем берется лучшее время из нескольких прогонов.
+ */
+public class AtomicBoxBenchmark {
+    private static final int WARMUP = 2;
+    private static final int RUNS = 5;
+    private static final int OPS = 1_000_000;
+    private static final String[] COLORS = {"Red", "Green", "Blue", "Black", "White", "Gray", "Pink", "Cyan"};
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        System.out.println("Потоков: " + threads + ", операций на поток: " + OPS
+                + ", ядер: " + Runtime.getRuntime().availableProcessors());
+
+        System.out.println("Счетчик (инкремент):");
+        Box<Integer> syncCounter = new Box<>(0);
+        measure("  synchronized", threads, () -> syncCounter.setContent(0), (id, i) -> {
+            synchronized (syncCounter) {
+                syncCounter.setContent(syncCounter.getContent() + 1);
+            }
+        }, () -> check(syncCounter.getContent(), threads));
+        Box<Integer> lockCounter = new Box<>(0);
+        ReentrantLock counterLock = new ReentrantLock();
+        measure("  ReentrantLock", threads, () -> lockCounter.setContent(0), (id, i) -> {
+            counterLock.lock();
+            try {
+                lockCounter.setContent(lockCounter.getContent() + 1);
+            } finally {
+                counterLock.unlock();
+            }
+        }, () -> check(lockCounter.getContent(), threads));
+        AtomicBox<Integer> atomicCounter = new AtomicBox<>(0);
+        measure("  AtomicBox.updateAndGet", threads, () -> atomicCounter.setContent(0),
+                (id, i) -> atomicCounter.updateAndGet(x -> x + 1),
+                () -> check(atomicCounter.getContent(), threads));
+
+        // Каждый поток изредка меняет конфигурацию, а в основном читает
+        System.out.println("Конфигурация (1 запись на 64 чтения):");
+        Box<String> syncConfig = new Box<>("v0");
+        LongAdder sink = new LongAdder(); // Не дает JIT выбросить чтения
+        measure("  synchronized", threads, () -> { }, (id, i) -> {
+            if ((i & 63) == 0) {
+                synchronized (syncConfig) {
+                    syncConfig.setContent(COLORS[i & 7]);
+                }
+            } else {
+                synchronized (syncConfig) {
+                    if (syncConfig.getContent() == null) sink.increment();
+                }
+            }
+        }, () -> "");
+        AtomicBox<String> atomicConfig = new AtomicBox<>("v0");
+        measure("  AtomicBox acquire/release", threads, () -> { }, (id, i) -> {
+            if ((i & 63) == 0) {
+                atomicConfig.setRelease(COLORS[i & 7]);
+            } else if (atomicConfig.getAcquire() == null) {
+                sink.increment();
+            }
+        }, () -> "");
+
+        // Четные потоки пишут пару (индекс, цвет индекса), нечетные читают и проверяют ее
+        System.out.println("Пара содержимое+цвет (половина потоков пишет):");
+        LongAdder torn = new LongAdder();
+        ColorBox<Integer> plainPair = new ColorBox<>(0, COLORS[0]);
+        measure("  без синхронизации", threads, torn::reset, (id, i) -> {
+            if ((id & 1) == 0) {
+                plainPair.setContent(i & 7);
+                plainPair.setColor(COLORS[i & 7]);
+            } else {
+                Integer content = plainPair.getContent();
+                if (COLORS[content] != plainPair.getColor()) torn.increment();
+            }
+        }, () -> "несогласованных чтений: " + torn.sum());
+        ColorBox<Integer> syncPair = new ColorBox<>(0, COLORS[0]);
+        measure("  synchronized", threads, torn::reset, (id, i) -> {
+            if ((id & 1) == 0) {
+                synchronized (syncPair) {
+                    syncPair.setContent(i & 7);
+                    syncPair.setColor(COLORS[i & 7]);
+                }
+            } else {
+                synchronized (syncPair) {
+                    if (COLORS[syncPair.getContent()] != syncPair.getColor()) torn.increment();
+                }
+            }
+        }, () -> "несогласованных чтений: " + torn.sum());
+        AtomicColorBox<Integer> atomicPair = new AtomicColorBox<>(0, COLORS[0]);
+        measure("  AtomicColorBox", threads, torn::reset, (id, i) -> {
+            if ((id & 1) == 0) {
+                atomicPair.set(i & 7, COLORS[i & 7]);
+            } else {
+                AtomicColorBox.Snapshot<Integer> snapshot = atomicPair.snapshotAcquire();
+                if (COLORS[snapshot.getContent()] != snapshot.getColor()) torn.increment();
+            }
+        }, () -> "несогласованных чтений: " + torn.sum());
+    }
+
+    private static String check(int count, int threads) {
+        long expected = (long) threads * OPS;
+        return count == expected ? "итог верный" : "ОШИБКА: " + count + " вместо " + expected;
+    }
+
+    private static void measure(String name, int threads, Runnable reset, Operation operation, Result result)
+            throws InterruptedException {
+        String last = "";
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP + RUNS; run++) {
+            reset.run();
+            long time = runThreads(threads, operation);
+            if (run >= WARMUP) {
+                best = Math.min(best, time);
+            }
+            last = result.describe();
+        }
+        System.out.printf("%-30s %8.2f мс  %s%n", name, best / 1e6, last);
+    }
+
+    private static long runThreads(int threads, Operation operation) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPS; i++) {
+                    operation.run(id, i);
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private interface Operation {
+        void run(int thread, int iteration);
+    }
+
+    private interface Result {
+        String describe();
+    }
+}
@@ -0,0 +1,134 @@
+package gen5_inheritance.code.example2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Потокобезопасный аналог {@link ColorBox} без блокировок.
+ * <p>
+ * Содержимое и цвет лежат в одном неизменяемом снимке, который заменяется целиком одной CAS.
+ * Поэтому пару нельзя прочитать «наполовину обновленной»: {@link #snapshot()} всегда возвращает
+ * согласованные содержимое и цвет. Цена — новый снимок на каждую запись.
+ */
+public class AtomicColorBox<T> {
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(AtomicColorBox.class, "state", Snapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Согласованная пара содержимого и цвета.
+     */
+    public static final class Snapshot<T> {
+        private final T content;
+        private final String color;
+
+        public Snapshot(T content, String color) {
+            this.content = content;
+            this.color = color;
+        }
+
+        public T getContent() {
+            return content;
+        }
+
+        public String getColor() {
+            return color;
+        }
+
+        public Snapshot<T> withContent(T content) {
+            return new Snapshot<>(content, color);
+        }
+
+        public Snapshot<T> withColor(String color) {
+            return new Snapshot<>(content, color);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Snapshot)) return false;
+            Snapshot<?> other = (Snapshot<?>) o;
+            return Objects.equals(content, other.content) && Objects.equals(color, other.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(content, color);
+        }
+
+        @Override
+        public String toString() {
+            return content + " and is " + color;
+        }
+    }
+
+    private volatile Snapshot<T> state;
+
+    public AtomicColorBox(T content, String color) {
+        this.state = new Snapshot<>(content, color);
+    }
+
+    public Snapshot<T> snapshot() {
+        return state;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Snapshot<T> snapshotAcquire() {
+        return (Snapshot<T>) STATE.getAcquire(this);
+    }
+
+    public T getContent() {
+        return state.getContent();
+    }
+
+    public String getColor() {
+        return state.getColor();
+    }
+
+    // Атомарная замена обоих полей
+    public void set(T content, String color) {
+        state = new Snapshot<>(content, color);
+    }
+
+    public void setRelease(T content, String color) {
+        STATE.setRelease(this, new Snapshot<>(content, color));
+    }
+
+    // Цвет сохраняется тот, что был на момент успешной замены
+    public void setContent(T content) {
+        updateAndGet(s -> s.withContent(content));
+    }
+
+    public void setColor(String color) {
+        updateAndGet(s -> s.withColor(color));
+    }
+
+    // Сравнение по ссылке на снимок, полученный из snapshot()
+    public boolean compareAndSet(Snapshot<T> expected, T content, String color) {
+        return STATE.compareAndSet(this, expected, new Snapshot<>(content, color));
+    }
+
+    // Функция может вызываться повторно при конкуренции и не должна иметь побочных эффектов
+    public Snapshot<T> updateAndGet(UnaryOperator<Snapshot<T>> update) {
+        Snapshot<T> current = state;
+        while (true) {
+            Snapshot<T> next = update.apply(current);
+            if (STATE.weakCompareAndSet(this, current, next)) {
+                return next;
+            }
+            current = state;
+        }
+    }
+
+    public void displayContent() {
+        System.out.println("AtomicColorBox contains: " + state);
+    }
+}
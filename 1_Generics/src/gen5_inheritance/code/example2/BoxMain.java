@@ -15,5 +15,15 @@ public class BoxMain {
         stringColorBox.setContent("New Content");
         stringColorBox.setColor("Blue");
         stringColorBox.displayContent(); // Вывод: ColorBox contains: New Content and is Blue
+
+        // Потокобезопасные варианты: атомарное обновление без блокировок
+        AtomicBox<Integer> counter = new AtomicBox<>(0);
+        counter.updateAndGet(x -> x + 1);
+        counter.displayContent(); // Вывод: AtomicBox contains: 1
+
+        // Содержимое и цвет меняются одной операцией и читаются согласованно
+        AtomicColorBox<String> atomicColorBox = new AtomicColorBox<>("Hello, Generics!", "Red");
+        atomicColorBox.set("New Content", "Blue");
+        atomicColorBox.displayContent(); // Вывод: AtomicColorBox contains: New Content and is Blue
     }
 }
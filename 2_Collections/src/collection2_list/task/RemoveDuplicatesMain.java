@@ -0,0 +1,33 @@
+package collection2_list.task;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+public class RemoveDuplicatesMain {
+    // Удаление через ListIterator: в LinkedList каждое удаление O(1), весь проход O(n)
+    public static List<Integer> deleteDuplicates(LinkedList<Integer> sorted) {
+        ListIterator<Integer> iterator = sorted.listIterator();
+        Integer previous = null;
+        while (iterator.hasNext()) {
+            Integer current = iterator.next();
+            if (current.equals(previous)) {
+                iterator.remove();
+            } else {
+                previous = current;
+            }
+        }
+        return sorted;
+    }
+
+    public static void main(String[] args) {
+        LinkedList<Integer> head = new LinkedList<>(List.of(1, 1, 2, 3, 3));
+        System.out.println(deleteDuplicates(head)); // Вывод: [1, 2, 3]
+
+        // Примитивный массив: уникальные значения сдвигаются в начало, новых объектов нет
+        int[] values = {1, 1, 2, 3, 3};
+        int length = SortedDedup.dedup(values);
+        System.out.println(Arrays.toString(Arrays.copyOf(values, length))); // Вывод: [1, 2, 3]
+    }
+}
@@ -0,0 +1,391 @@
+package collection2_list.task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Удаление повторов из отсортированных последовательностей.
+ * <p>
+ * В отсортированных данных одинаковые значения стоят рядом, поэтому достаточно сравнивать
+ * элемент с предыдущим: O(n) и O(1) памяти. Отсюда три варианта: на месте в примитивном массиве,
+ * ленивые адаптеры Iterator/Spliterator и слияние нескольких отсортированных файлов на диске
+ * (в памяти только по одному текущему элементу на файл).
+ */
+public final class SortedDedup {
+    private SortedDedup() {
+    }
+
+    // Сдвигает уникальные значения в начало массива и возвращает их количество
+    public static int dedup(int[] values) {
+        return dedup(values, 0, values.length);
+    }
+
+    // То же для участка [from, to); возвращает новый конец участка
+    public static int dedup(int[] values, int from, int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+        if (to - from < 2) return to;
+        int write = from + 1;
+        for (int read = from + 1; read < to; read++) {
+            if (values[read] != values[write - 1]) values[write++] = values[read];
+        }
+        return write;
+    }
+
+    public static int dedup(long[] values) {
+        return dedup(values, 0, values.length);
+    }
+
+    public static int dedup(long[] values, int from, int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+        if (to - from < 2) return to;
+        int write = from + 1;
+        for (int read = from + 1; read < to; read++) {
+            if (values[read] != values[write - 1]) values[write++] = values[read];
+        }
+        return write;
+    }
+
+    // Равенство как в Arrays.sort(double[]): NaN равен NaN, -0.0 и 0.0 различаются
+    public static int dedup(double[] values) {
+        return dedup(values, 0, values.length);
+    }
+
+    public static int dedup(double[] values, int from, int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+        if (to - from < 2) return to;
+        int write = from + 1;
+        for (int read = from + 1; read < to; read++) {
+            if (Double.compare(values[read], values[write - 1]) != 0) values[write++] = values[read];
+        }
+        return write;
+    }
+
+    // Ленивый пропуск повторов: элементы читаются из исходного итератора по мере обхода
+    public static <T> Iterator<T> distinct(Iterator<T> sorted) {
+        return new Iterator<>() {
+            private boolean hasPrevious;
+            private T previous;
+            private boolean hasNext;
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasNext && sorted.hasNext()) {
+                    T candidate = sorted.next();
+                    if (!hasPrevious || !Objects.equals(candidate, previous)) {
+                        next = candidate;
+                        hasNext = true;
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                hasNext = false;
+                hasPrevious = true;
+                previous = next;
+                return next;
+            }
+        };
+    }
+
+    // Повторы определяются компаратором сортировки: подходит, когда он не согласован с equals
+    public static <T> Iterator<T> distinct(Iterator<T> sorted, Comparator<? super T> comparator) {
+        return new Iterator<>() {
+            private boolean hasPrevious;
+            private T previous;
+            private boolean hasNext;
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasNext && sorted.hasNext()) {
+                    T candidate = sorted.next();
+                    if (!hasPrevious || comparator.compare(candidate, previous) != 0) {
+                        next = candidate;
+                        hasNext = true;
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                hasNext = false;
+                hasPrevious = true;
+                previous = next;
+                return next;
+            }
+        };
+    }
+
+    public static PrimitiveIterator.OfLong distinct(PrimitiveIterator.OfLong sorted) {
+        return new PrimitiveIterator.OfLong() {
+            private boolean hasPrevious;
+            private long previous;
+            private boolean hasNext;
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasNext && sorted.hasNext()) {
+                    long candidate = sorted.nextLong();
+                    if (!hasPrevious || candidate != previous) {
+                        next = candidate;
+                        hasNext = true;
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) throw new NoSuchElementException();
+                hasNext = false;
+                hasPrevious = true;
+                previous = next;
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Ленивый Spliterator без повторов. Не делится: после разделения одинаковые значения
+     * могли бы оказаться по разные стороны границы.
+     * <p>
+     * Если источник SORTED, повторы определяются его компаратором (null - естественный порядок),
+     * как в {@link #distinct(Iterator, Comparator)}; иначе - через equals.
+     */
+    public static <T> Spliterator<T> distinct(Spliterator<T> sorted) {
+        Comparator<? super T> order = sorted.hasCharacteristics(Spliterator.SORTED) ? sortOrder(sorted) : null;
+        return new Spliterator<>() {
+            private boolean hasPrevious;
+            private T previous;
+
+            private boolean isRepeat(T candidate) {
+                if (!hasPrevious) return false;
+                return order != null ? order.compare(candidate, previous) == 0 : Objects.equals(candidate, previous);
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                boolean[] emitted = new boolean[1];
+                while (!emitted[0] && sorted.tryAdvance(candidate -> {
+                    if (!isRepeat(candidate)) {
+                        hasPrevious = true;
+                        previous = candidate;
+                        emitted[0] = true;
+                        action.accept(candidate);
+                    }
+                })) {
+                    // Пропускаем повторы
+                }
+                return emitted[0];
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super T> action) {
+                sorted.forEachRemaining(candidate -> {
+                    if (!isRepeat(candidate)) {
+                        hasPrevious = true;
+                        previous = candidate;
+                        action.accept(candidate);
+                    }
+                });
+            }
+
+            @Override
+            public Spliterator<T> trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return sorted.estimateSize();
+            }
+
+            @Override
+            public int characteristics() {
+                return (sorted.characteristics() & (ORDERED | SORTED | NONNULL | IMMUTABLE)) | DISTINCT;
+            }
+
+            @Override
+            public Comparator<? super T> getComparator() {
+                return sorted.getComparator();
+            }
+        };
+    }
+
+    // Компаратор SORTED-источника; null у него означает естественный порядок (элементы Comparable)
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<? super T> sortOrder(Spliterator<T> sorted) {
+        Comparator<? super T> comparator = sorted.getComparator();
+        return comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+    }
+
+    /**
+     * Слияние отсортированных итераторов с удалением повторов (k-way merge).
+     * Куча хранит по одному текущему элементу от каждого источника; повторы - элементы,
+     * равные по тому же компаратору.
+     */
+    public static <T> Iterator<T> mergeDistinct(List<? extends Iterator<? extends T>> sources,
+                                                Comparator<? super T> comparator) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> comparator.compare(a.value, b.value));
+        for (Iterator<? extends T> source : sources) {
+            if (source.hasNext()) heads.add(new Head<>(source.next(), source));
+        }
+        Iterator<T> merged = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head<T> head = heads.poll();
+                if (head == null) throw new NoSuchElementException();
+                T value = head.value;
+                if (head.source.hasNext()) {
+                    head.value = head.source.next();
+                    heads.add(head);
+                }
+                return value;
+            }
+        };
+        return distinct(merged, comparator);
+    }
+
+    /**
+     * Сливает отсортированные текстовые файлы (по строке на значение, порядок String)
+     * в один файл без повторов.
+     *
+     * @return число строк в результате
+     */
+    public static long mergeDistinctLines(List<Path> runs, Path output) throws IOException {
+        List<BufferedReader> readers = new ArrayList<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            List<Iterator<String>> sources = new ArrayList<>();
+            for (Path run : runs) {
+                BufferedReader reader = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+                readers.add(reader);
+                sources.add(reader.lines().iterator());
+            }
+            long count = 0;
+            try {
+                for (Iterator<String> it = mergeDistinct(sources, Comparator.<String>naturalOrder()); it.hasNext(); ) {
+                    writer.write(it.next());
+                    writer.newLine();
+                    count++;
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return count;
+        } finally {
+            for (BufferedReader reader : readers) reader.close();
+        }
+    }
+
+    /**
+     * Сливает отсортированные двоичные файлы long (по 8 байт, big-endian, как пишет DataOutputStream)
+     * в один файл без повторов. Куча индексов по примитивным значениям - без упаковки.
+     *
+     * @return число значений в результате
+     */
+    public static long mergeDistinctLongs(List<Path> runs, Path output) throws IOException {
+        int k = runs.size();
+        DataInputStream[] inputs = new DataInputStream[k];
+        long[] current = new long[k];
+        int[] heap = new int[k];
+        int size = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            for (int i = 0; i < k; i++) {
+                inputs[i] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(i)), 1 << 16));
+                if (readLong(inputs[i], current, i, runs)) heap[size++] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, size, i, current);
+
+            long count = 0;
+            long previous = 0;
+            while (size > 0) {
+                int run = heap[0];
+                long value = current[run];
+                if (count == 0 || value != previous) {
+                    out.writeLong(value);
+                    previous = value;
+                    count++;
+                }
+                if (!readLong(inputs[run], current, run, runs)) heap[0] = heap[--size];
+                siftDown(heap, size, 0, current);
+            }
+            return count;
+        } finally {
+            for (DataInputStream input : inputs) {
+                if (input != null) input.close();
+            }
+        }
+    }
+
+    // false - чистый конец файла; обрывок значения (длина не кратна 8) - ошибка, а не конец
+    private static boolean readLong(DataInputStream in, long[] current, int run, List<Path> runs) throws IOException {
+        int first = in.read();
+        if (first < 0) return false;
+        long value = first;
+        for (int i = 1; i < Long.BYTES; i++) {
+            int b = in.read();
+            if (b < 0) throw new EOFException(runs.get(run) + ": файл оборван внутри значения long: прочитано " + i + " из 8 байт");
+            value = (value << 8) | b;
+        }
+        current[run] = value;
+        return true;
+    }
+
+    private static void siftDown(int[] heap, int size, int i, long[] current) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && current[heap[left]] < current[heap[smallest]]) smallest = left;
+            if (right < size && current[heap[right]] < current[heap[smallest]]) smallest = right;
+            if (smallest == i) return;
+            int swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private static final class Head<T> {
+        T value;
+        final Iterator<? extends T> source;
+
+        Head(T value, Iterator<? extends T> source) {
+            this.value = value;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package collection4_stack.task;
+
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.Scanner;
+
+public class BracketMain {
+    // Решение задачи на стеке: открывающая скобка кладется в стек, закрывающая должна совпасть с вершиной.
+    // Остальные символы пропускаются, как и в BracketValidator
+    public static boolean isValid(String s) {
+        Deque<Character> stack = new LinkedList<>();
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '(': stack.push(')'); break;
+                case '[': stack.push(']'); break;
+                case '{': stack.push('}'); break;
+                case ')':
+                case ']':
+                case '}':
+                    if (stack.isEmpty() || stack.pop() != c) return false;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return stack.isEmpty();
+    }
+
+    public static void main(String[] args) {
+        Scanner scanner = new Scanner(System.in);
+        System.out.println("Введите скобочную последовательность:");
+        String s = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+
+        System.out.println(isValid(s));
+        // То же без объекта на каждую скобку
+        System.out.println(BracketValidator.isValid(s));
+    }
+}
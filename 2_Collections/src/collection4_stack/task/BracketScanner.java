@@ -0,0 +1,104 @@
+package collection4_stack.task;
+
+import java.util.Arrays;
+
+/**
+ * Разбор скобок со стеком в byte[] (0, 1, 2 - виды скобок).
+ * <p>
+ * Пока встречается только один вид открывающих скобок, стек не нужен: хватает счетчика глубины.
+ * Стек заводится при появлении второго вида и заполняется накопленной глубиной.
+ * Символы, которые не являются скобками, пропускаются.
+ */
+final class BracketScanner {
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        CODES['('] = 0;
+        CODES['['] = 1;
+        CODES['{'] = 2;
+        CODES[')'] = 3;
+        CODES[']'] = 4;
+        CODES['}'] = 5;
+    }
+
+    // true - непарные закрывающие в начале запоминаются (для частей параллельной проверки)
+    private final boolean allowUnmatchedClosers;
+
+    private int depth;
+    private byte kind;
+    private byte[] stack; // null, пока открыт только один вид скобок
+    private byte[] closers = new byte[0];
+    private int closersLength;
+    private boolean failed;
+
+    BracketScanner(boolean allowUnmatchedClosers) {
+        this.allowUnmatchedClosers = allowUnmatchedClosers;
+    }
+
+    // false - последовательность уже некорректна, дальше читать не нужно
+    boolean accept(char c) {
+        if (c >= 128) return true;
+        int code = CODES[c];
+        if (code < 0) return true;
+        if (code < 3) {
+            open((byte) code);
+        } else {
+            close((byte) (code - 3));
+        }
+        return !failed;
+    }
+
+    boolean isBalanced() {
+        return !failed && depth == 0 && closersLength == 0;
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    // Непарные закрывающие скобки в порядке появления
+    byte[] closers() {
+        return Arrays.copyOf(closers, closersLength);
+    }
+
+    // Непарные открывающие скобки, от дна стека к вершине
+    byte[] openers() {
+        if (stack != null) return Arrays.copyOf(stack, depth);
+        byte[] result = new byte[depth];
+        Arrays.fill(result, kind);
+        return result;
+    }
+
+    private void open(byte code) {
+        if (stack == null) {
+            if (depth == 0 || code == kind) {
+                kind = code;
+                depth++;
+                return;
+            }
+            stack = new byte[Math.max(16, depth * 2)];
+            Arrays.fill(stack, 0, depth, kind);
+        }
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = code;
+    }
+
+    private void close(byte code) {
+        if (depth == 0) {
+            if (!allowUnmatchedClosers) {
+                failed = true;
+                return;
+            }
+            if (closersLength == closers.length) closers = Arrays.copyOf(closers, Math.max(16, closersLength * 2));
+            closers[closersLength++] = code;
+            return;
+        }
+        byte top = stack == null ? kind : stack[depth - 1];
+        if (top != code) {
+            failed = true;
+            return;
+        }
+        depth--;
+    }
+}
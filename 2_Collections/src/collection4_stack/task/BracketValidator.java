@@ -0,0 +1,145 @@
+package collection4_stack.task;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Проверка скобочных последовательностей без объекта на скобку.
+ * <p>
+ * Последовательный режим - {@link BracketScanner} со стеком в byte[] (или счетчиком глубины
+ * для одного вида скобок). Параллельный режим делит вход на части: каждая часть сводится
+ * к непарным закрывающим в начале и непарным открывающим в конце, а соседние сводки
+ * объединяются: открывающие левой части гасятся закрывающими правой.
+ */
+public final class BracketValidator {
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int LEAF_SIZE = 1 << 18;
+
+    private BracketValidator() {
+    }
+
+    public static boolean isValid(CharSequence s) {
+        BracketScanner scanner = new BracketScanner(false);
+        for (int i = 0, length = s.length(); i < length; i++) {
+            if (!scanner.accept(s.charAt(i))) return false;
+        }
+        return scanner.isBalanced();
+    }
+
+    public static boolean isValid(char[] chars) {
+        return isValid(chars, 0, chars.length);
+    }
+
+    public static boolean isValid(char[] chars, int from, int to) {
+        BracketScanner scanner = new BracketScanner(false);
+        for (int i = from; i < to; i++) {
+            if (!scanner.accept(chars[i])) return false;
+        }
+        return scanner.isBalanced();
+    }
+
+    // Чтение потока блоками: вход целиком в памяти не держится
+    public static boolean isValid(Reader reader) throws IOException {
+        BracketScanner scanner = new BracketScanner(false);
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (!scanner.accept(buffer[i])) return false;
+            }
+        }
+        return scanner.isBalanced();
+    }
+
+    // Параллельная проверка; короткие входы проверяются последовательно
+    public static boolean isValidParallel(CharSequence s) {
+        if (s.length() < PARALLEL_THRESHOLD) return isValid(s);
+        return ForkJoinPool.commonPool().invoke(new SummaryTask(s, 0, s.length())).isBalanced();
+    }
+
+    public static boolean isValidParallel(char[] chars) {
+        return isValidParallel(CharBuffer.wrap(chars));
+    }
+
+    /**
+     * Сводка части входа: непарные закрывающие (в порядке появления) и
+     * непарные открывающие (от дна стека к вершине).
+     */
+    static final class Summary {
+        static final Summary INVALID = new Summary(null, null);
+
+        final byte[] closers;
+        final byte[] openers;
+
+        Summary(byte[] closers, byte[] openers) {
+            this.closers = closers;
+            this.openers = openers;
+        }
+
+        boolean isInvalid() {
+            return closers == null;
+        }
+
+        boolean isBalanced() {
+            return !isInvalid() && closers.length == 0 && openers.length == 0;
+        }
+
+        static Summary of(CharSequence s, int from, int to) {
+            BracketScanner scanner = new BracketScanner(true);
+            for (int i = from; i < to; i++) {
+                if (!scanner.accept(s.charAt(i))) return INVALID;
+            }
+            return new Summary(scanner.closers(), scanner.openers());
+        }
+
+        // Левая часть, затем правая: вершина открывающих слева встречает первые закрывающие справа
+        static Summary combine(Summary left, Summary right) {
+            if (left.isInvalid() || right.isInvalid()) return INVALID;
+            int open = left.openers.length;
+            int matched = 0;
+            while (matched < right.closers.length && open > 0) {
+                if (left.openers[open - 1] != right.closers[matched]) return INVALID;
+                open--;
+                matched++;
+            }
+            byte[] closers = concat(left.closers, 0, left.closers.length,
+                    right.closers, matched, right.closers.length);
+            byte[] openers = concat(left.openers, 0, open, right.openers, 0, right.openers.length);
+            return new Summary(closers, openers);
+        }
+
+        private static byte[] concat(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+            byte[] result = Arrays.copyOfRange(a, aFrom, aTo + (bTo - bFrom));
+            System.arraycopy(b, bFrom, result, aTo - aFrom, bTo - bFrom);
+            return result;
+        }
+    }
+
+    private static final class SummaryTask extends RecursiveTask<Summary> {
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequence s;
+        private final int from;
+        private final int to;
+
+        SummaryTask(CharSequence s, int from, int to) {
+            this.s = s;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from <= LEAF_SIZE) return Summary.of(s, from, to);
+            int middle = (from + to) >>> 1;
+            SummaryTask left = new SummaryTask(s, from, middle);
+            left.fork();
+            Summary right = new SummaryTask(s, middle, to).compute();
+            return Summary.combine(left.join(), right);
+        }
+    }
+}
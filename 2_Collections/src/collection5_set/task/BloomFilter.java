@@ -0,0 +1,84 @@
+package collection5_set.task;
+
+/**
+ * Фильтр Блума для int: отвечает "точно не было" или "возможно было".
+ * <p>
+ * Размер выбирается по ожидаемому числу элементов n и допустимой доле ложных срабатываний p:
+ * m = -n·ln(p) / ln²(2) бит и k = m/n·ln(2) хеш-функций. Хеши строятся из двух
+ * 64-битных хешей (g_i = h1 + i·h2), поэтому адресуются все биты и у фильтров больше 2^32 бит.
+ */
+public class BloomFilter {
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions: " + expectedInsertions);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate: " + falsePositiveRate);
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, (bits + 63) & ~63L);
+        if ((bits >>> 6) > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Фильтр слишком велик");
+        this.words = new long[(int) (bits >>> 6)];
+        this.bitCount = bits;
+        this.hashCount = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Добавляет значение.
+     *
+     * @return true, если значение точно встречается впервые (хотя бы один бит был сброшен)
+     */
+    public boolean put(int value) {
+        long h1 = mix(value);
+        long h2 = secondHash(h1);
+        boolean changed = false;
+        long combined = h1;
+        for (int i = 0; i < hashCount; i++, combined += h2) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words[index] & mask) == 0) {
+                words[index] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public boolean mightContain(int value) {
+        long h1 = mix(value);
+        long h2 = secondHash(h1);
+        long combined = h1;
+        for (int i = 0; i < hashCount; i++, combined += h2) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // Перемешивание splitmix64
+    private static long mix(int value) {
+        return finish((value & 0xFFFFFFFFL) + 0x9E3779B97F4A7C15L);
+    }
+
+    // Следующий выход splitmix64; нечетный шаг: при h2 = 0 все k битов совпали бы
+    private static long secondHash(long h1) {
+        return finish(h1 + 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long finish(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
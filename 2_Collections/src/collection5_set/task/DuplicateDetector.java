@@ -0,0 +1,149 @@
+package collection5_set.task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Поиск повторов среди целых чисел без упаковки в Integer.
+ * <ul>
+ *     <li>плотный диапазон значений - {@link RangeBitSet}, один бит на значение;</li>
+ *     <li>разреженные значения - {@link IntHashSet};</li>
+ *     <li>поток чисел из {@link InputStream} - без построения списка;</li>
+ *     <li>огромные потоки - предварительный отбор {@link BloomFilter} и точная проверка кандидатов.</li>
+ * </ul>
+ * Все варианты останавливаются на первом найденном повторе.
+ */
+public final class DuplicateDetector {
+    // Битовое множество выбирается, если бит на значение диапазона не больше стольких бит на элемент
+    private static final long BITS_PER_ELEMENT = 32;
+    // С этого размера IntHashSet занимает столько же, сколько битовое множество на весь диапазон int
+    private static final int FULL_RANGE_SWITCH = 1 << 26;
+
+    /**
+     * Источник, который можно прочитать несколько раз (например, файл).
+     */
+    @FunctionalInterface
+    public interface StreamSource {
+        InputStream open() throws IOException;
+    }
+
+    private DuplicateDetector() {
+    }
+
+    // Выбирает битовое множество или хеш-множество по плотности значений
+    public static boolean containsDuplicate(int[] values) {
+        if (values.length < 2) return false;
+        int min = values[0];
+        int max = values[0];
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        long range = (long) max - min + 1;
+        if (range < values.length) return true; // Принцип Дирихле
+        if (range <= BITS_PER_ELEMENT * values.length) return containsDuplicateInRange(values, min, max);
+        return containsDuplicateHashed(values);
+    }
+
+    public static boolean containsDuplicate(List<Integer> values) {
+        IntHashSet seen = new IntHashSet(values.size());
+        for (Integer value : values) {
+            if (!seen.add(value)) return true;
+        }
+        return false;
+    }
+
+    public static boolean containsDuplicateInRange(int[] values, int min, int max) {
+        RangeBitSet seen = new RangeBitSet(min, max);
+        for (int value : values) {
+            if (!seen.add(value)) return true;
+        }
+        return false;
+    }
+
+    public static boolean containsDuplicateHashed(int[] values) {
+        IntHashSet seen = new IntHashSet(values.length);
+        for (int value : values) {
+            if (!seen.add(value)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Точная проверка потока чисел. Пока различных чисел мало, они хранятся в {@link IntHashSet};
+     * когда таблица дорастает до размера битового множества на весь диапазон int (512 МБ),
+     * значения переносятся в него, и дальше память не растет.
+     */
+    public static boolean containsDuplicate(InputStream in) throws IOException {
+        IntReader reader = new IntReader(in);
+        IntHashSet seen = new IntHashSet();
+        while (reader.next()) {
+            if (!seen.add(reader.value())) return true;
+            if (seen.size() >= FULL_RANGE_SWITCH) {
+                RangeBitSet all = new RangeBitSet(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                seen.forEach(all::add);
+                return containsDuplicate(reader, all);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверка одним проходом только фильтром Блума.
+     *
+     * @return false - повторов точно нет; true - повтор вероятен (ложное срабатывание с долей около falsePositiveRate)
+     */
+    public static boolean mayContainDuplicate(InputStream in, long expectedCount, double falsePositiveRate)
+            throws IOException {
+        IntReader reader = new IntReader(in);
+        BloomFilter filter = new BloomFilter(expectedCount, falsePositiveRate);
+        while (reader.next()) {
+            if (!filter.put(reader.value())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Точная проверка в два прохода для источника, который можно перечитать.
+     * Первый проход отбирает кандидатов - числа, которые фильтр Блума "уже видел";
+     * второй считает только кандидатов. Память: фильтр плюс множество кандидатов
+     * (настоящие повторы и около falsePositiveRate·n ложных).
+     */
+    public static boolean containsDuplicate(StreamSource source, long expectedCount, double falsePositiveRate)
+            throws IOException {
+        BloomFilter filter = new BloomFilter(expectedCount, falsePositiveRate);
+        IntHashSet candidates = new IntHashSet();
+        try (InputStream in = source.open()) {
+            IntReader reader = new IntReader(in);
+            while (reader.next()) {
+                if (!filter.put(reader.value())) candidates.add(reader.value());
+            }
+        }
+        if (candidates.size() == 0) return false;
+
+        IntHashSet seen = new IntHashSet(candidates.size());
+        try (InputStream in = source.open()) {
+            IntReader reader = new IntReader(in);
+            while (reader.next()) {
+                int value = reader.value();
+                if (candidates.contains(value) && !seen.add(value)) return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean containsDuplicate(Path file, long expectedCount, double falsePositiveRate)
+            throws IOException {
+        return containsDuplicate(() -> Files.newInputStream(file), expectedCount, falsePositiveRate);
+    }
+
+    private static boolean containsDuplicate(IntReader reader, RangeBitSet seen) throws IOException {
+        while (reader.next()) {
+            if (!seen.add(reader.value())) return true;
+        }
+        return false;
+    }
+}
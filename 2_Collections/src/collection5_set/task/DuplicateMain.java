@@ -0,0 +1,31 @@
+package collection5_set.task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Scanner;
+import java.util.Set;
+
+public class DuplicateMain {
+    // Решение задачи на HashSet: add возвращает false, если элемент уже есть
+    public static boolean containsDuplicate(List<Integer> nums) {
+        Set<Integer> seen = new HashSet<>();
+        for (Integer num : nums) {
+            if (!seen.add(num)) return true;
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        Scanner scanner = new Scanner(System.in);
+        System.out.println("Введите числа через пробел:");
+        List<Integer> nums = new ArrayList<>();
+        for (String token : scanner.nextLine().trim().split("\\s+")) {
+            if (!token.isEmpty()) nums.add(Integer.parseInt(token));
+        }
+
+        System.out.println(containsDuplicate(nums));
+        // То же без упаковки: IntHashSet вместо HashSet<Integer>
+        System.out.println(DuplicateDetector.containsDuplicate(nums));
+    }
+}
@@ -0,0 +1,97 @@
+package collection5_set.task;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Множество int с открытой адресацией: значения в массиве int[], без упаковки в Integer
+ * и без объекта-узла на элемент. Линейное пробирование, емкость - степень двойки.
+ * Пустой слот обозначается нулем, поэтому наличие самого 0 хранится отдельным флагом.
+ */
+public class IntHashSet {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] slots;
+    private int size;
+    private int threshold;
+    private int shift;
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        long capacity = Long.highestOneBit((long) (Math.max(expectedSize, 8) / LOAD_FACTOR) * 2 - 1);
+        if (capacity > 1 << 30) throw new IllegalArgumentException("Слишком большое множество: " + expectedSize);
+        allocate((int) capacity);
+    }
+
+    // Добавляет значение; false, если оно уже было (то есть найден повтор)
+    public boolean add(int value) {
+        if (value == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            int current = slots[i];
+            if (current == value) return false;
+            if (current == 0) {
+                slots[i] = value;
+                if (++size > threshold) grow();
+                return true;
+            }
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) return hasZero;
+        int mask = slots.length - 1;
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            int current = slots[i];
+            if (current == value) return true;
+            if (current == 0) return false;
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hasZero) action.accept(0);
+        for (int value : slots) {
+            if (value != 0) action.accept(value);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Объем таблицы в байтах
+    public long memoryBytes() {
+        return (long) slots.length * Integer.BYTES;
+    }
+
+    private int slot(int value) {
+        return (value * 0x9E3779B9) >>> shift;
+    }
+
+    private void grow() {
+        if (slots.length == 1 << 30) throw new IllegalStateException("Достигнута максимальная емкость");
+        int[] old = slots;
+        allocate(old.length * 2);
+        int mask = slots.length - 1;
+        for (int value : old) {
+            if (value == 0) continue;
+            int i = slot(value);
+            while (slots[i] != 0) i = (i + 1) & mask;
+            slots[i] = value;
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,59 @@
+package collection5_set.task;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Чтение целых чисел из потока байтов без создания строк: числа разделены любыми
+ * символами, кроме цифр и знака минус.
+ */
+final class IntReader {
+    private final InputStream in;
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+    private int limit;
+    private int value;
+
+    IntReader(InputStream in) {
+        this.in = in;
+    }
+
+    // Переходит к следующему числу; false - поток закончился
+    boolean next() throws IOException {
+        int b = read();
+        while (b >= 0 && b != '-' && (b < '0' || b > '9')) b = read();
+        if (b < 0) return false;
+
+        boolean negative = b == '-';
+        if (negative) {
+            b = read();
+            if (b < '0' || b > '9') throw new NumberFormatException("Ожидалась цифра после '-'");
+        }
+        long result = 0;
+        while (b >= '0' && b <= '9') {
+            result = result * 10 + (b - '0');
+            if (result > (long) Integer.MAX_VALUE + 1) throw new NumberFormatException("Число вне диапазона int");
+            b = read();
+        }
+        if (negative) result = -result;
+        if (result > Integer.MAX_VALUE) throw new NumberFormatException("Число вне диапазона int");
+        value = (int) result;
+        return true;
+    }
+
+    int value() {
+        return value;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+}
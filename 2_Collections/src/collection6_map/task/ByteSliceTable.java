@@ -0,0 +1,162 @@
+package collection6_map.task;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Счетчики слов с открытой адресацией, где ключ - срез байтов.
+ * <p>
+ * Байты всех ключей лежат подряд в одном массиве-арене, слот хранит смещение, длину,
+ * хеш и счетчик. Строки не создаются ни для поиска, ни для вставки.
+ * Пустой слот - длина 0 (пустых слов не бывает).
+ */
+final class ByteSliceTable {
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int MAX_ARENA = Integer.MAX_VALUE - 16;
+
+    private byte[] arena = new byte[1 << 16];
+    private int arenaSize;
+
+    private int[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private long[] counts;
+    private int size;
+    private int threshold;
+
+    /**
+     * Обработка одной записи таблицы без создания объектов.
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(byte[] bytes, int offset, int length, long count);
+    }
+
+    ByteSliceTable() {
+        allocate(1 << 12);
+    }
+
+    // Хеш среза байтов; тот же хеш должен передаваться в add и get
+    static int hash(byte[] bytes, int from, int length) {
+        int h = 0x811C9DC5;
+        for (int i = from; i < from + length; i++) {
+            h = (h ^ bytes[i]) * 0x01000193;
+        }
+        // Перемешивание (fmix32), так как индекс берется из младших битов
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    void add(byte[] key, int from, int length, int hash, long count) {
+        int mask = lengths.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int current = lengths[i];
+            if (current == 0) {
+                offsets[i] = store(key, from, length);
+                lengths[i] = length;
+                hashes[i] = hash;
+                counts[i] = count;
+                if (++size > threshold) allocate(lengths.length * 2);
+                return;
+            }
+            if (hashes[i] == hash && current == length
+                    && Arrays.equals(arena, offsets[i], offsets[i] + length, key, from, from + length)) {
+                counts[i] += count;
+                return;
+            }
+        }
+    }
+
+    long get(byte[] key, int from, int length, int hash) {
+        int mask = lengths.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int current = lengths[i];
+            if (current == 0) return 0;
+            if (hashes[i] == hash && current == length
+                    && Arrays.equals(arena, offsets[i], offsets[i] + length, key, from, from + length)) {
+                return counts[i];
+            }
+        }
+    }
+
+    // Переносит все записи другой таблицы в эту
+    void addAll(ByteSliceTable other) {
+        for (int i = 0; i < other.lengths.length; i++) {
+            if (other.lengths[i] != 0) {
+                add(other.arena, other.offsets[i], other.lengths[i], other.hashes[i], other.counts[i]);
+            }
+        }
+    }
+
+    void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < lengths.length; i++) {
+            if (lengths[i] != 0) visitor.visit(arena, offsets[i], lengths[i], counts[i]);
+        }
+    }
+
+    // Обход в порядке байтов ключа (беззнаковое сравнение) - для записи на диск
+    void forEachSorted(EntryVisitor visitor) {
+        int[] sorted = IntStream.range(0, lengths.length)
+                .filter(i -> lengths[i] != 0)
+                .boxed()
+                .sorted((a, b) -> Arrays.compareUnsigned(arena, offsets[a], offsets[a] + lengths[a],
+                        arena, offsets[b], offsets[b] + lengths[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        for (int i : sorted) visitor.visit(arena, offsets[i], lengths[i], counts[i]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Приблизительный объем памяти таблицы в байтах
+    long memoryBytes() {
+        return arena.length + (long) lengths.length * (4 + 4 + 4 + 8);
+    }
+
+    void clear() {
+        arena = new byte[1 << 16];
+        arenaSize = 0;
+        size = 0;
+        allocate(1 << 12);
+    }
+
+    private int store(byte[] key, int from, int length) {
+        if (arenaSize + length > arena.length) {
+            if ((long) arenaSize + length > MAX_ARENA) throw new IllegalStateException("Арена таблицы переполнена");
+            arena = Arrays.copyOf(arena, (int) Math.min(MAX_ARENA, Math.max(arena.length * 2L, arenaSize + length)));
+        }
+        System.arraycopy(key, from, arena, arenaSize, length);
+        int offset = arenaSize;
+        arenaSize += length;
+        return offset;
+    }
+
+    private void allocate(int capacity) {
+        int[] oldOffsets = offsets;
+        int[] oldLengths = lengths;
+        int[] oldHashes = hashes;
+        long[] oldCounts = counts;
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        hashes = new int[capacity];
+        counts = new long[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        if (oldLengths == null || size == 0) return;
+
+        int mask = capacity - 1;
+        for (int j = 0; j < oldLengths.length; j++) {
+            if (oldLengths[j] == 0) continue;
+            int i = oldHashes[j] & mask;
+            while (lengths[i] != 0) i = (i + 1) & mask;
+            offsets[i] = oldOffsets[j];
+            lengths[i] = oldLengths[j];
+            hashes[i] = oldHashes[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package collection6_map.task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Файл счетчиков на диске: записи "слово - количество", отсортированные по байтам слова.
+ * Формат записи: длина (varint), байты слова, количество (varint); длина 0 - конец файла.
+ * Отсортированные файлы сливаются за один проход, как в сортировке слиянием.
+ */
+final class SpillFile {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SpillFile() {
+    }
+
+    static void write(Path file, ByteSliceTable table) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            IOException[] failure = new IOException[1];
+            table.forEachSorted((bytes, offset, length, count) -> {
+                if (failure[0] != null) return;
+                try {
+                    writeEntry(out, bytes, offset, length, count);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+            writeVarLong(out, 0);
+        }
+    }
+
+    // Сливает отсортированные файлы в один, складывая счетчики одинаковых слов
+    static void merge(List<Path> runs, Path target) throws IOException {
+        List<Reader> readers = new ArrayList<>();
+        PriorityQueue<Reader> queue = new PriorityQueue<>((a, b) ->
+                Arrays.compareUnsigned(a.key, 0, a.length, b.key, 0, b.length));
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE))) {
+            for (Path run : runs) {
+                Reader reader = new Reader(run);
+                readers.add(reader);
+                if (reader.next()) queue.add(reader);
+            }
+
+            byte[] current = new byte[64];
+            int currentLength = 0;
+            long currentCount = 0;
+            while (!queue.isEmpty()) {
+                Reader reader = queue.poll();
+                if (currentCount > 0 && Arrays.equals(current, 0, currentLength, reader.key, 0, reader.length)) {
+                    currentCount += reader.count;
+                } else {
+                    if (currentCount > 0) writeEntry(out, current, 0, currentLength, currentCount);
+                    if (current.length < reader.length) current = new byte[reader.key.length];
+                    System.arraycopy(reader.key, 0, current, 0, reader.length);
+                    currentLength = reader.length;
+                    currentCount = reader.count;
+                }
+                if (reader.next()) queue.add(reader);
+            }
+            if (currentCount > 0) writeEntry(out, current, 0, currentLength, currentCount);
+            writeVarLong(out, 0);
+        } finally {
+            for (Reader reader : readers) reader.close();
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, byte[] bytes, int offset, int length, long count)
+            throws IOException {
+        writeVarLong(out, length);
+        out.write(bytes, offset, length);
+        writeVarLong(out, count);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Файл счетчиков поврежден");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    /**
+     * Последовательное чтение записей; буфер ключа переиспользуется.
+     */
+    static final class Reader implements AutoCloseable {
+        private final DataInputStream in;
+        byte[] key = new byte[64];
+        int length;
+        long count;
+
+        Reader(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        }
+
+        boolean next() throws IOException {
+            length = (int) readVarLong(in);
+            if (length == 0) return false;
+            if (key.length < length) key = new byte[Math.max(length, key.length * 2)];
+            in.readFully(key, 0, length);
+            count = readVarLong(in);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package collection6_map.task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Scanner;
+
+public class WordCountMain {
+    public static void main(String[] args) throws IOException {
+        // С аргументом - подсчет по файлу любого размера, выводятся 20 самых частых слов
+        if (args.length > 0) {
+            try (WordFrequencies frequencies = new WordFrequencyEngine().count(Path.of(args[0]))) {
+                System.out.println("Всего слов: " + frequencies.totalWords()
+                        + ", различных: " + frequencies.distinctWords());
+                frequencies.top(20).forEach(entry -> System.out.println(entry.getKey() + ": " + entry.getValue()));
+            }
+            return;
+        }
+
+        Scanner scanner = new Scanner(System.in);
+        System.out.println("Введите строку:");
+        String line = scanner.nextLine();
+
+        for (Map.Entry<String, Integer> entry : countWords(line).entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    // Порядок вывода - порядок первого появления слова
+    public static Map<String, Integer> countWords(String text) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String word : text.toLowerCase(Locale.ROOT).trim().split("\\s+")) {
+            if (!word.isEmpty()) counts.merge(word, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,139 @@
+package collection6_map.task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * Результат подсчета: частоты слов в памяти (одна таблица) или в файле на диске,
+ * если словарь не поместился в бюджет памяти. Во втором случае {@link #close()}
+ * удаляет временные файлы.
+ */
+public class WordFrequencies implements AutoCloseable {
+    private final ByteSliceTable table;  // null, если счетчики на диске
+    private final Path merged;           // null, если счетчики в памяти
+    private final Path spillDirectory;
+    private final long totalWords;
+    private final long distinctWords;
+
+    WordFrequencies(ByteSliceTable table, long totalWords) {
+        this.table = table;
+        this.merged = null;
+        this.spillDirectory = null;
+        this.totalWords = totalWords;
+        this.distinctWords = table.size();
+    }
+
+    WordFrequencies(Path merged, Path spillDirectory, long totalWords) throws IOException {
+        this.table = null;
+        this.merged = merged;
+        this.spillDirectory = spillDirectory;
+        this.totalWords = totalWords;
+        long distinct = 0;
+        try (SpillFile.Reader reader = new SpillFile.Reader(merged)) {
+            while (reader.next()) distinct++;
+        }
+        this.distinctWords = distinct;
+    }
+
+    public long totalWords() {
+        return totalWords;
+    }
+
+    public long distinctWords() {
+        return distinctWords;
+    }
+
+    public boolean isSpilled() {
+        return merged != null;
+    }
+
+    // Количество вхождений слова без учета регистра
+    public long count(String word) {
+        byte[] key = word.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        if (table != null) return table.get(key, 0, key.length, ByteSliceTable.hash(key, 0, key.length));
+
+        long[] result = new long[1];
+        forEachEntry((bytes, offset, length, count) -> {
+            if (Arrays.equals(bytes, offset, offset + length, key, 0, key.length)) result[0] = count;
+        });
+        return result[0];
+    }
+
+    /**
+     * K самых частых слов по убыванию количества (при равенстве - по алфавиту).
+     * Куча держит не больше K кандидатов, строки создаются только для них.
+     */
+    public List<Map.Entry<String, Long>> top(int k) {
+        if (k <= 0) return List.of();
+        Comparator<Candidate> weakestFirst = Comparator.<Candidate>comparingLong(c -> c.count)
+                .thenComparing((a, b) -> Arrays.compareUnsigned(b.key, a.key));
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(k, weakestFirst);
+        forEachEntry((bytes, offset, length, count) -> {
+            if (heap.size() == k) {
+                Candidate weakest = heap.peek();
+                if (count < weakest.count) return;
+                if (count == weakest.count
+                        && Arrays.compareUnsigned(bytes, offset, offset + length, weakest.key, 0, weakest.key.length) >= 0) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.add(new Candidate(Arrays.copyOfRange(bytes, offset, offset + length), count));
+        });
+
+        List<Map.Entry<String, Long>> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Candidate candidate = heap.poll();
+            result.add(Map.entry(new String(candidate.key, StandardCharsets.UTF_8), candidate.count));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public void forEach(BiConsumer<String, Long> action) {
+        forEachEntry((bytes, offset, length, count) ->
+                action.accept(new String(bytes, offset, length, StandardCharsets.UTF_8), count));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spillDirectory != null) {
+            Files.deleteIfExists(merged);
+            Files.deleteIfExists(spillDirectory);
+        }
+    }
+
+    private void forEachEntry(ByteSliceTable.EntryVisitor visitor) {
+        if (table != null) {
+            table.forEach(visitor);
+            return;
+        }
+        try (SpillFile.Reader reader = new SpillFile.Reader(merged)) {
+            while (reader.next()) visitor.visit(reader.key, 0, reader.length, reader.count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Candidate {
+        final byte[] key;
+        final long count;
+
+        Candidate(byte[] key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package collection6_map.task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Подсчет частот слов (без учета регистра) в файлах любого размера.
+ * <p>
+ * Файл делится на части по границам пробельных символов; потоки забирают части по очереди,
+ * отображают их в память и считают слова в собственной {@link ByteSliceTable} - без String на слово
+ * и без синхронизации. В конце таблицы сливаются в одну. Если таблица потока превышает свою долю
+ * бюджета памяти, она сбрасывается на диск отсортированным файлом, и итог собирается слиянием файлов.
+ * <p>
+ * Регистр приводится прямо в байтах UTF-8 для латиницы и кириллицы; слова с другими
+ * не-ASCII символами приводятся через {@link String#toLowerCase(Locale)}.
+ */
+public class WordFrequencyEngine {
+    private static final long MIN_CHUNK = 1 << 20;
+    private static final long MAX_CHUNK = 64L << 20;
+    private static final int SCAN_SIZE = 4096;
+    // Не больше стольких файлов открывается одновременно при слиянии
+    private static final int MAX_FAN_IN = 64;
+    // Минимальная доля бюджета на поток: иначе пустая таблица сбрасывалась бы после каждого слова
+    private static final long MIN_THREAD_BUDGET = 4L << 20;
+
+    private final int threads;
+    private final long memoryBudget;
+    private final Path spillDirectory;
+
+    public WordFrequencyEngine() {
+        this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / 4,
+                Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param threads        число потоков подсчета
+     * @param memoryBudget   бюджет памяти на таблицы всех потоков, байт
+     * @param spillDirectory каталог для временных файлов
+     */
+    public WordFrequencyEngine(int threads, long memoryBudget, Path spillDirectory) {
+        if (threads < 1) throw new IllegalArgumentException("threads: " + threads);
+        this.threads = threads;
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public WordFrequencies count(Path file) throws IOException {
+        Path runDirectory = Files.createTempDirectory(spillDirectory, "words");
+        List<Worker> workers = new ArrayList<>();
+        try {
+            countChunks(file, runDirectory, workers);
+            return merge(workers, runDirectory);
+        } catch (IOException | RuntimeException e) {
+            deleteDirectory(runDirectory);
+            throw e;
+        }
+    }
+
+    private void countChunks(Path file, Path runDirectory, List<Worker> workers) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = split(channel);
+            AtomicInteger nextChunk = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "word-count");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Worker>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Worker worker = new Worker(runDirectory, Math.max(MIN_THREAD_BUDGET, memoryBudget / threads));
+                    workers.add(worker);
+                    futures.add(pool.submit(() -> worker.run(channel, bounds, nextChunk)));
+                }
+                for (Future<Worker> future : futures) future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Подсчет прерван", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IOException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private WordFrequencies merge(List<Worker> workers, Path runDirectory) throws IOException {
+        long total = 0;
+        long memory = 0;
+        List<Path> runs = new ArrayList<>();
+        for (Worker worker : workers) {
+            total += worker.total;
+            memory += worker.table.memoryBytes();
+            runs.addAll(worker.runs);
+        }
+
+        if (runs.isEmpty() && memory <= memoryBudget) {
+            ByteSliceTable result = workers.get(0).table;
+            for (int i = 1; i < workers.size(); i++) result.addAll(workers.get(i).table);
+            Files.delete(runDirectory);
+            return new WordFrequencies(result, total);
+        }
+
+        // Словарь не помещается в память: сбрасываем остатки и сливаем все файлы в один
+        for (Worker worker : workers) worker.spill();
+        runs.clear();
+        for (Worker worker : workers) runs.addAll(worker.runs);
+        Path merged = runDirectory.resolve("merged");
+        mergeRuns(runs, runDirectory, merged);
+        return new WordFrequencies(merged, runDirectory, total);
+    }
+
+    // Слияние в несколько проходов, если файлов больше MAX_FAN_IN
+    private static void mergeRuns(List<Path> runs, Path runDirectory, Path target) throws IOException {
+        int pass = 0;
+        while (runs.size() > MAX_FAN_IN) {
+            List<Path> next = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                Path output = runDirectory.resolve("pass" + pass + "-" + next.size() + ".run");
+                SpillFile.merge(group, output);
+                for (Path run : group) Files.delete(run);
+                next.add(output);
+            }
+            runs = next;
+            pass++;
+        }
+        SpillFile.merge(runs, target);
+        for (Path run : runs) Files.delete(run);
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    // Границы частей: каждая граница сдвинута на ближайший пробельный символ
+    private long[] split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunk = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size / (threads * 4L) + 1));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        long position = chunk;
+        while (position < size) {
+            position = nextWhitespace(channel, buffer, position, size);
+            if (position - bounds.get(bounds.size() - 1) > Integer.MAX_VALUE) {
+                throw new IOException("Слово длиннее 2 ГБ около позиции " + position);
+            }
+            bounds.add(position);
+            position += chunk;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextWhitespace(FileChannel channel, ByteBuffer buffer, long position, long size)
+            throws IOException {
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) return size;
+            for (int i = 0; i < read; i++) {
+                if (isWhitespace(buffer.get(i))) return position + i;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    /**
+     * Поток подсчета: своя таблица, свой буфер слова, свои файлы сброса.
+     */
+    private static final class Worker {
+        private final Path runDirectory;
+        private final long budget;
+        final List<Path> runs = new ArrayList<>();
+        final ByteSliceTable table = new ByteSliceTable();
+        long total;
+
+        private byte[] word = new byte[256];
+
+        Worker(Path runDirectory, long budget) {
+            this.runDirectory = runDirectory;
+            this.budget = budget;
+        }
+
+        Worker run(FileChannel channel, long[] bounds, AtomicInteger nextChunk) throws IOException {
+            for (int i = nextChunk.getAndIncrement(); i < bounds.length - 1; i = nextChunk.getAndIncrement()) {
+                long start = bounds[i];
+                long length = bounds[i + 1] - start;
+                if (length > 0) count(channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+            }
+            return this;
+        }
+
+        private void count(MappedByteBuffer buffer) throws IOException {
+            int limit = buffer.limit();
+            int i = 0;
+            while (i < limit) {
+                while (i < limit && isWhitespace(buffer.get(i))) i++;
+                int start = i;
+                while (i < limit && !isWhitespace(buffer.get(i))) i++;
+                if (i > start) addWord(buffer, start, i);
+            }
+        }
+
+        // Копирует слово в буфер, приводя регистр латиницы и кириллицы прямо в UTF-8
+        private void addWord(MappedByteBuffer buffer, int from, int to) throws IOException {
+            int length = to - from;
+            if (word.length < length) word = new byte[Math.max(length, word.length * 2)];
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(from + i);
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                } else if (b < 0) {
+                    if (!foldCyrillic(buffer, from + i, to, i)) {
+                        addSlow(buffer, from, to);
+                        return;
+                    }
+                    i++;
+                    continue;
+                }
+                word[i] = b;
+            }
+            add(word, length);
+        }
+
+        // Двухбайтовая кириллица (D0/D1 xx); false - символ другого алфавита
+        private boolean foldCyrillic(MappedByteBuffer buffer, int position, int to, int i) {
+            int lead = buffer.get(position) & 0xFF;
+            if ((lead != 0xD0 && lead != 0xD1) || position + 1 >= to) return false;
+            int next = buffer.get(position + 1) & 0xFF;
+            if (next < 0x80 || next > 0xBF) return false;
+            // D1 A0-BF - исторические буквы (Ѡ/ѡ, Ѣ/ѣ...) с парами регистра внутри: их сводит addSlow
+            if (lead == 0xD1 && next > 0x9F) return false;
+            if (lead == 0xD0 && next < 0xB0) {
+                if (next >= 0x90 && next <= 0x9F) {        // А-П -> а-п
+                    next += 0x20;
+                } else if (next >= 0xA0) {                 // Р-Я -> р-я
+                    lead = 0xD1;
+                    next -= 0x20;
+                } else {                                   // Ѐ-Џ (в т.ч. Ё) -> ѐ-џ
+                    lead = 0xD1;
+                    next += 0x10;
+                }
+            }
+            word[i] = (byte) lead;
+            word[i + 1] = (byte) next;
+            return true;
+        }
+
+        private void addSlow(MappedByteBuffer buffer, int from, int to) throws IOException {
+            byte[] raw = new byte[to - from];
+            buffer.get(from, raw);
+            byte[] folded = new String(raw, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT)
+                    .getBytes(StandardCharsets.UTF_8);
+            add(folded, folded.length);
+        }
+
+        private void add(byte[] key, int length) throws IOException {
+            table.add(key, 0, length, ByteSliceTable.hash(key, 0, length), 1);
+            total++;
+            if (table.memoryBytes() > budget) spill();
+        }
+
+        void spill() throws IOException {
+            if (table.size() == 0) return;
+            Path run = runDirectory.resolve(Thread.currentThread().getId() + "-" + System.nanoTime() + ".run");
+            SpillFile.write(run, table);
+            runs.add(run);
+            table.clear();
+        }
+    }
+}
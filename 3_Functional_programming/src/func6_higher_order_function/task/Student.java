@@ -0,0 +1,52 @@
+package func6_higher_order_function.task;
+
+public class Student {
+    private String name;
+    private int age;
+    private double grade;
+    private String group;
+
+    public Student(String name, int age, double grade, String group) {
+        this.name = name;
+        this.age = age;
+        this.grade = grade;
+        this.group = group;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public double getGrade() {
+        return grade;
+    }
+
+    public void setGrade(double grade) {
+        this.grade = grade;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    @Override
+    public String toString() {
+        return "Student{name='" + name + "', age=" + age + ", grade=" + grade + ", group='" + group + "'}";
+    }
+}
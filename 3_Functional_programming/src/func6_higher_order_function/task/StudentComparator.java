@@ -0,0 +1,7 @@
+package func6_higher_order_function.task;
+
+// Сравнение двух студентов (аналог Comparator<Student>)
+@FunctionalInterface
+public interface StudentComparator {
+    int compare(Student s1, Student s2);
+}
@@ -0,0 +1,7 @@
+package func6_higher_order_function.task;
+
+// Действие над студентом (аналог Consumer<Student>)
+@FunctionalInterface
+public interface StudentConsumer {
+    void accept(Student student);
+}
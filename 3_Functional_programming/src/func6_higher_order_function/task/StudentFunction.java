@@ -0,0 +1,7 @@
+package func6_higher_order_function.task;
+
+// Преобразование студента в объект другого типа (аналог Function<Student, R>)
+@FunctionalInterface
+public interface StudentFunction<R> {
+    R apply(Student student);
+}
@@ -0,0 +1,301 @@
+package func6_higher_order_function.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ленивая цепочка обработки студентов на интерфейсах StudentPredicate/StudentFunction/StudentComparator.
+ * <p>
+ * В отличие от {@link StudentProcessor}, промежуточные списки не создаются: операции только
+ * запоминаются, а при терминальной операции подряд идущие фильтры сливаются в одно условие и
+ * выполняются за один проход; {@link #findFirst()} останавливается на первом совпадении.
+ * Сортировка - единственный барьер: перед ней отобранные элементы собираются в массив.
+ * Сортировки по возрасту и баллу идут по примитивным ключам ({@link StudentSort}).
+ * <p>
+ * Списки от {@value #PARALLEL_THRESHOLD} элементов обрабатываются параллельно (кроме forEach,
+ * который всегда идет по порядку), поэтому условия и преобразования не должны иметь побочных эффектов.
+ */
+public final class StudentPipeline {
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int LEAF_SIZE = 1 << 12;
+
+    private final List<Student> source;
+    private final List<Object> stages; // StudentPredicate или Sort
+    private final boolean parallelAllowed;
+
+    private StudentPipeline(List<Student> source, List<Object> stages, boolean parallelAllowed) {
+        this.source = source;
+        this.stages = stages;
+        this.parallelAllowed = parallelAllowed;
+    }
+
+    public static StudentPipeline of(List<Student> students) {
+        return new StudentPipeline(students, List.of(), true);
+    }
+
+    public StudentPipeline filter(StudentPredicate predicate) {
+        return with(predicate);
+    }
+
+    public StudentPipeline sorted(StudentComparator comparator) {
+        return with(new Sort(comparator, null));
+    }
+
+    public StudentPipeline sortedByAge() {
+        return with(new Sort(null, StudentSort::ageKey));
+    }
+
+    public StudentPipeline sortedByGrade() {
+        return with(new Sort(null, StudentSort::gradeKey));
+    }
+
+    // ~key переворачивает порядок без переполнения; равные ключи сохраняют исходный порядок
+    public StudentPipeline sortedByGradeDescending() {
+        return with(new Sort(null, student -> ~StudentSort.gradeKey(student)));
+    }
+
+    // Отключает параллельное выполнение независимо от размера
+    public StudentPipeline sequential() {
+        return new StudentPipeline(source, stages, false);
+    }
+
+    public List<Student> toList() {
+        Segment segment = prepare();
+        return segment.parallel() ? segment.collectParallel(student -> student) : segment.collect(student -> student);
+    }
+
+    public <R> List<R> transform(StudentFunction<R> function) {
+        Segment segment = prepare();
+        return segment.parallel() ? segment.collectParallel(function) : segment.collect(function);
+    }
+
+    public void forEach(StudentConsumer consumer) {
+        Segment segment = prepare();
+        for (int i = 0, size = segment.students.size(); i < size; i++) {
+            Student student = segment.students.get(i);
+            if (segment.accepts(student)) consumer.accept(student);
+        }
+    }
+
+    // Первый подходящий студент (в порядке цепочки) или null
+    public Student findFirst() {
+        Segment segment = prepare();
+        if (segment.parallel()) return segment.findFirstParallel();
+        for (int i = 0, size = segment.students.size(); i < size; i++) {
+            Student student = segment.students.get(i);
+            if (segment.accepts(student)) return student;
+        }
+        return null;
+    }
+
+    public long count() {
+        Segment segment = prepare();
+        long count = 0;
+        for (int i = 0, size = segment.students.size(); i < size; i++) {
+            if (segment.accepts(segment.students.get(i))) count++;
+        }
+        return count;
+    }
+
+    public Student max(StudentComparator comparator) {
+        Segment segment = prepare();
+        Student best = null;
+        for (int i = 0, size = segment.students.size(); i < size; i++) {
+            Student student = segment.students.get(i);
+            if (segment.accepts(student) && (best == null || comparator.compare(student, best) > 0)) best = student;
+        }
+        return best;
+    }
+
+    // Максимум по баллу без компаратора: сравниваются примитивные double
+    public Student maxByGrade() {
+        Segment segment = prepare();
+        Student best = null;
+        double bestGrade = 0;
+        for (int i = 0, size = segment.students.size(); i < size; i++) {
+            Student student = segment.students.get(i);
+            if (!segment.accepts(student)) continue;
+            double grade = student.getGrade();
+            if (best == null || Double.compare(grade, bestGrade) > 0) {
+                best = student;
+                bestGrade = grade;
+            }
+        }
+        return best;
+    }
+
+    private StudentPipeline with(Object stage) {
+        List<Object> next = new ArrayList<>(stages.size() + 1);
+        next.addAll(stages);
+        next.add(stage);
+        return new StudentPipeline(source, next, parallelAllowed);
+    }
+
+    // Выполняет все сортировки; возвращает последний участок: список и слитое условие после него
+    private Segment prepare() {
+        List<Student> current = source instanceof RandomAccess ? source : new ArrayList<>(source);
+        StudentPredicate pending = null;
+        for (Object stage : stages) {
+            if (stage instanceof StudentPredicate) {
+                pending = and(pending, (StudentPredicate) stage);
+                continue;
+            }
+            Segment segment = new Segment(current, pending, parallelAllowed);
+            Student[] items = (segment.parallel() ? segment.collectParallel(student -> student)
+                    : segment.collect(student -> student)).toArray(new Student[0]);
+            ((Sort) stage).apply(items, runsParallel(parallelAllowed, items.length));
+            current = Arrays.asList(items);
+            pending = null;
+        }
+        return new Segment(current, pending, parallelAllowed);
+    }
+
+    // Одно условие для проходов и сортировок: при одном потоке в общем пуле параллельность только мешает
+    private static boolean runsParallel(boolean parallelAllowed, int size) {
+        return parallelAllowed && size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private static StudentPredicate and(StudentPredicate first, StudentPredicate second) {
+        if (first == null) return second;
+        return student -> first.test(student) && second.test(student);
+    }
+
+    private static final class Sort {
+        private final StudentComparator comparator;
+        private final ToLongFunction<Student> key;
+
+        Sort(StudentComparator comparator, ToLongFunction<Student> key) {
+            this.comparator = comparator;
+            this.key = key;
+        }
+
+        void apply(Student[] items, boolean parallel) {
+            if (key == null) {
+                if (parallel) {
+                    Arrays.parallelSort(items, comparator::compare);
+                } else {
+                    Arrays.sort(items, comparator::compare);
+                }
+                return;
+            }
+            long[] keys = new long[items.length];
+            for (int i = 0; i < items.length; i++) keys[i] = key.applyAsLong(items[i]);
+            StudentSort.sort(items, keys, parallel);
+        }
+    }
+
+    /**
+     * Список с произвольным доступом и слитое условие, которое к нему применяется.
+     */
+    private static final class Segment {
+        final List<Student> students;
+        final StudentPredicate predicate; // null - без фильтрации
+        final boolean parallelAllowed;
+
+        Segment(List<Student> students, StudentPredicate predicate, boolean parallelAllowed) {
+            this.students = students;
+            this.predicate = predicate;
+            this.parallelAllowed = parallelAllowed;
+        }
+
+        boolean parallel() {
+            return runsParallel(parallelAllowed, students.size());
+        }
+
+        boolean accepts(Student student) {
+            return predicate == null || predicate.test(student);
+        }
+
+        <R> List<R> collect(StudentFunction<R> function) {
+            return collect(function, 0, students.size());
+        }
+
+        <R> List<R> collect(StudentFunction<R> function, int from, int to) {
+            List<R> result = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Student student = students.get(i);
+                if (accepts(student)) result.add(function.apply(student));
+            }
+            return result;
+        }
+
+        <R> List<R> collectParallel(StudentFunction<R> function) {
+            return ForkJoinPool.commonPool().invoke(new CollectTask<>(this, function, 0, students.size()));
+        }
+
+        // Части просматриваются параллельно; часть пропускается, если раньше нее уже есть совпадение
+        Student findFirstParallel() {
+            AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+            ForkJoinPool.commonPool().invoke(new FindTask(this, found, 0, students.size()));
+            int index = found.get();
+            return index == Integer.MAX_VALUE ? null : students.get(index);
+        }
+    }
+
+    private static final class CollectTask<R> extends RecursiveTask<List<R>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Segment segment;
+        private final StudentFunction<R> function;
+        private final int from;
+        private final int to;
+
+        CollectTask(Segment segment, StudentFunction<R> function, int from, int to) {
+            this.segment = segment;
+            this.function = function;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (to - from <= LEAF_SIZE) return segment.collect(function, from, to);
+            int middle = (from + to) >>> 1;
+            CollectTask<R> left = new CollectTask<>(segment, function, from, middle);
+            left.fork();
+            List<R> right = new CollectTask<>(segment, function, middle, to).compute();
+            List<R> result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+
+    private static final class FindTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Segment segment;
+        private final AtomicInteger found;
+        private final int from;
+        private final int to;
+
+        FindTask(Segment segment, AtomicInteger found, int from, int to) {
+            this.segment = segment;
+            this.found = found;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= found.get()) return;
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to && i < found.get(); i++) {
+                    if (segment.accepts(segment.students.get(i))) {
+                        found.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FindTask(segment, found, from, middle), new FindTask(segment, found, middle, to));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package func6_higher_order_function.task;
+
+// Проверка условия на студенте (аналог Predicate<Student>)
+@FunctionalInterface
+public interface StudentPredicate {
+    boolean test(Student student);
+}
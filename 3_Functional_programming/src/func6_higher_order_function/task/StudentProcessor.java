@@ -0,0 +1,57 @@
+package func6_higher_order_function.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Обработка списка студентов через собственные функциональные интерфейсы.
+ * Каждый метод проходит список целиком и возвращает новый список; для цепочек
+ * из нескольких шагов - {@link StudentPipeline}.
+ */
+public class StudentProcessor {
+    public static List<Student> filter(List<Student> students, StudentPredicate predicate) {
+        List<Student> result = new ArrayList<>();
+        for (Student student : students) {
+            if (predicate.test(student)) result.add(student);
+        }
+        return result;
+    }
+
+    public static <R> List<R> transform(List<Student> students, StudentFunction<R> function) {
+        List<R> result = new ArrayList<>(students.size());
+        for (Student student : students) {
+            result.add(function.apply(student));
+        }
+        return result;
+    }
+
+    public static void forEach(List<Student> students, StudentConsumer consumer) {
+        for (Student student : students) {
+            consumer.accept(student);
+        }
+    }
+
+    // Первый подходящий студент или null
+    public static Student findFirst(List<Student> students, StudentPredicate predicate) {
+        for (Student student : students) {
+            if (predicate.test(student)) return student;
+        }
+        return null;
+    }
+
+    // Максимальный студент по компаратору или null для пустого списка
+    public static Student max(List<Student> students, StudentComparator comparator) {
+        Student best = null;
+        for (Student student : students) {
+            if (best == null || comparator.compare(student, best) > 0) best = student;
+        }
+        return best;
+    }
+
+    // Новый отсортированный список; исходный не меняется
+    public static List<Student> sort(List<Student> students, StudentComparator comparator) {
+        List<Student> result = new ArrayList<>(students);
+        result.sort(comparator::compare);
+        return result;
+    }
+}
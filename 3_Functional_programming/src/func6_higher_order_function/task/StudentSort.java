@@ -0,0 +1,113 @@
+package func6_higher_order_function.task;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Устойчивая сортировка студентов по примитивному ключу (long), без упаковки и без вызова
+ * компаратора на каждое сравнение: ключи извлекаются один раз, массивы ключей и студентов
+ * переставляются вместе. Большие массивы сортируются слиянием в ForkJoinPool.
+ */
+final class StudentSort {
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int PARALLEL_LEAF = 1 << 13;
+
+    private StudentSort() {
+    }
+
+    static long ageKey(Student student) {
+        return student.getAge();
+    }
+
+    // Биты double, упорядоченные как Double.compare: у отрицательных чисел инвертируются
+    static long gradeKey(Student student) {
+        long bits = Double.doubleToLongBits(student.getGrade());
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static void sort(Student[] items, long[] keys, boolean parallel) {
+        Student[] itemBuffer = new Student[items.length];
+        long[] keyBuffer = new long[keys.length];
+        SortTask task = new SortTask(items, keys, itemBuffer, keyBuffer, 0, items.length);
+        if (parallel && items.length > PARALLEL_LEAF) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.sortSequential(0, items.length);
+        }
+    }
+
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Student[] items;
+        private final long[] keys;
+        private final Student[] itemBuffer;
+        private final long[] keyBuffer;
+        private final int from;
+        private final int to;
+
+        SortTask(Student[] items, long[] keys, Student[] itemBuffer, long[] keyBuffer, int from, int to) {
+            this.items = items;
+            this.keys = keys;
+            this.itemBuffer = itemBuffer;
+            this.keyBuffer = keyBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_LEAF) {
+                sortSequential(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(items, keys, itemBuffer, keyBuffer, from, middle),
+                    new SortTask(items, keys, itemBuffer, keyBuffer, middle, to));
+            merge(from, middle, to);
+        }
+
+        void sortSequential(int lo, int hi) {
+            if (hi - lo <= INSERTION_THRESHOLD) {
+                insertionSort(lo, hi);
+                return;
+            }
+            int middle = (lo + hi) >>> 1;
+            sortSequential(lo, middle);
+            sortSequential(middle, hi);
+            merge(lo, middle, hi);
+        }
+
+        private void insertionSort(int lo, int hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                long key = keys[i];
+                Student item = items[i];
+                int j = i - 1;
+                while (j >= lo && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    items[j + 1] = items[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                items[j + 1] = item;
+            }
+        }
+
+        private void merge(int lo, int middle, int hi) {
+            if (keys[middle - 1] <= keys[middle]) return; // Половины уже упорядочены
+            System.arraycopy(keys, lo, keyBuffer, lo, hi - lo);
+            System.arraycopy(items, lo, itemBuffer, lo, hi - lo);
+            int left = lo;
+            int right = middle;
+            for (int k = lo; k < hi; k++) {
+                if (right >= hi || (left < middle && keyBuffer[left] <= keyBuffer[right])) {
+                    keys[k] = keyBuffer[left];
+                    items[k] = itemBuffer[left++];
+                } else {
+                    keys[k] = keyBuffer[right];
+                    items[k] = itemBuffer[right++];
+                }
+            }
+        }
+    }
+}
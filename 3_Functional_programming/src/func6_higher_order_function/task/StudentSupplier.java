@@ -0,0 +1,7 @@
+package func6_higher_order_function.task;
+
+// Поставщик студента (аналог Supplier<Student>)
+@FunctionalInterface
+public interface StudentSupplier {
+    Student get();
+}
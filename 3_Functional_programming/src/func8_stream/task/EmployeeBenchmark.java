@@ -0,0 +1,93 @@
+package func8_stream.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Сравнение операций задачи на Stream&lt;Employee&gt; и на {@link EmployeeTable}.
+ * <p>
+ * Запуск: {@code java -Xmx8g func8_stream.task.EmployeeBenchmark [строк]} (по умолчанию 10M).
+ * Каждый вариант прогревается, затем берется лучшее время из нескольких прогонов.
+ */
+public class EmployeeBenchmark {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Sales", "Finance", "Legal", "Support", "R&D", "Ops"};
+    private static final int WARMUP = 5;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Random random = new Random(42);
+        String[] namePool = new String[10_000];
+        for (int i = 0; i < namePool.length; i++) namePool[i] = "Employee" + random.nextInt(1_000_000);
+
+        List<Employee> employees = new ArrayList<>(rows);
+        EmployeeTable table = new EmployeeTable(rows);
+        for (int i = 0; i < rows; i++) {
+            String name = namePool[random.nextInt(namePool.length)];
+            int age = 20 + random.nextInt(45);
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            double salary = 50_000 + random.nextInt(200_000);
+            employees.add(new Employee(name, age, department, salary));
+            table.add(name, age, department, salary);
+        }
+        System.out.println("Строк: " + rows);
+
+        measure("Stream: возраст > 30, count",
+                () -> employees.stream().filter(e -> e.getAge() > 30).count());
+        measure("Таблица: возраст > 30, count",
+                () -> table.select().ageGreaterThan(30).count());
+
+        measure("Stream: имена отдела IT",
+                () -> employees.stream().filter(e -> e.getDepartment().equals("IT"))
+                        .map(Employee::getName).collect(Collectors.toList()).size());
+        measure("Таблица: имена отдела IT",
+                () -> table.select().department("IT").names().size());
+
+        measure("Stream: максимальная зарплата",
+                () -> employees.stream().max(Comparator.comparingDouble(Employee::getSalary)).get().getAge());
+        measure("Таблица: максимальная зарплата",
+                () -> table.select().maxBySalary().getAge());
+
+        measure("Stream: средний возраст по отделам",
+                () -> employees.stream().collect(Collectors.groupingBy(Employee::getDepartment,
+                        Collectors.averagingInt(Employee::getAge))).size());
+        measure("Таблица: средний возраст по отделам",
+                () -> table.select().averageAgeByDepartment().size());
+
+        // Повышение применяется к одним и тем же данным много раз, коэффициент близок к 1
+        measure("Stream: повышение HR",
+                () -> {
+                    employees.stream().filter(e -> e.getDepartment().equals("HR"))
+                            .forEach(e -> e.setSalary(e.getSalary() * 1.0000001));
+                    return 0;
+                });
+        measure("Таблица: повышение HR",
+                () -> {
+                    table.select().department("HR").multiplySalary(1.0000001);
+                    return 0;
+                });
+
+        measure("Stream: сортировка по имени",
+                () -> employees.stream().sorted(Comparator.comparing(Employee::getName))
+                        .collect(Collectors.toList()).size());
+        measure("Таблица: порядок по имени",
+                () -> table.select().orderByName().length);
+    }
+
+    private static void measure(String name, Supplier<Object> operation) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) sink = operation.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            sink = operation.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-42s %9.2f мс  (%s)%n", name, best / 1e6, sink);
+    }
+}
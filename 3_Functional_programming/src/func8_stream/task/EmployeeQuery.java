@@ -0,0 +1,333 @@
+package func8_stream.task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/**
+ * Запрос к {@link EmployeeTable}: выбранные строки хранятся битовой маской (бит на строку).
+ * <p>
+ * Фильтры по столбцам проходят массив блоками по 64 строки и собирают слово маски без ветвлений;
+ * блоки, где уже ничего не выбрано, пропускаются. Агрегаты и обновления обходят только
+ * установленные биты. На таблицах от {@value #PARALLEL_THRESHOLD} строк работа делится
+ * по диапазонам слов маски в ForkJoinPool.
+ * <p>
+ * Запрос относится к текущему порядку строк: после {@link EmployeeTable#sortByName()}
+ * или добавления строк его нужно построить заново. Устаревший запрос не трогает таблицу,
+ * а бросает ConcurrentModificationException.
+ */
+public final class EmployeeQuery {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int LEAF_WORDS = 1 << 10;
+
+    private final EmployeeTable table;
+    private final int size;
+    private final long[] words;
+    private final int expectedModCount;
+
+    private EmployeeQuery(EmployeeTable table, long[] words) {
+        this.table = table;
+        this.size = table.size();
+        this.words = words;
+        this.expectedModCount = table.modCount();
+    }
+
+    static EmployeeQuery all(EmployeeTable table) {
+        int size = table.size();
+        long[] words = new long[(size + 63) >>> 6];
+        for (int w = 0; w < words.length; w++) {
+            int rows = Math.min(64, size - (w << 6));
+            words[w] = rows == 64 ? -1L : (1L << rows) - 1;
+        }
+        return new EmployeeQuery(table, words);
+    }
+
+    public EmployeeQuery ageGreaterThan(int age) {
+        int[] ages = table.ages();
+        return filter((base, rows) -> {
+            long bits = 0;
+            for (int b = 0; b < rows; b++) bits |= (ages[base + b] > age ? 1L : 0L) << b;
+            return bits;
+        });
+    }
+
+    public EmployeeQuery ageBetween(int min, int max) {
+        int[] ages = table.ages();
+        return filter((base, rows) -> {
+            long bits = 0;
+            for (int b = 0; b < rows; b++) {
+                int age = ages[base + b];
+                bits |= (age >= min & age <= max ? 1L : 0L) << b;
+            }
+            return bits;
+        });
+    }
+
+    public EmployeeQuery department(String department) {
+        int code = table.departmentCode(department);
+        int[] codes = table.departmentCodes();
+        return filter((base, rows) -> {
+            long bits = 0;
+            for (int b = 0; b < rows; b++) bits |= (codes[base + b] == code ? 1L : 0L) << b;
+            return bits;
+        });
+    }
+
+    public EmployeeQuery salaryGreaterThan(double salary) {
+        double[] salaries = table.salaries();
+        return filter((base, rows) -> {
+            long bits = 0;
+            for (int b = 0; b < rows; b++) bits |= (salaries[base + b] > salary ? 1L : 0L) << b;
+            return bits;
+        });
+    }
+
+    // Произвольное условие по номеру строки (медленнее столбцовых фильтров)
+    public EmployeeQuery where(IntPredicate row) {
+        return filter((base, rows) -> {
+            long bits = 0;
+            for (int b = 0; b < rows; b++) bits |= (row.test(base + b) ? 1L : 0L) << b;
+            return bits;
+        });
+    }
+
+    public int count() {
+        checkCurrent();
+        int count = 0;
+        for (long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+    public List<String> names() {
+        checkCurrent();
+        String[] names = table.names();
+        List<String> result = new ArrayList<>();
+        forEachRow(row -> result.add(names[row]));
+        return result;
+    }
+
+    public List<Employee> rows() {
+        checkCurrent();
+        List<Employee> result = new ArrayList<>();
+        forEachRow(row -> result.add(table.row(row)));
+        return result;
+    }
+
+    // Сотрудник с максимальной зарплатой среди выбранных или null
+    public Employee maxBySalary() {
+        checkCurrent();
+        double[] salaries = table.salaries();
+        int best = -1;
+        for (int w = 0; w < words.length; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (best < 0 || salaries[row] > salaries[best]) best = row;
+            }
+        }
+        return best < 0 ? null : table.row(best);
+    }
+
+    public double averageSalary() {
+        checkCurrent();
+        double[] salaries = table.salaries();
+        double sum = 0;
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                sum += salaries[(w << 6) + Long.numberOfTrailingZeros(word)];
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Средний возраст по отделам. Каждая часть считает суммы и количества в массивах,
+     * индексированных кодом отдела; массивы частей складываются.
+     */
+    public Map<String, Double> averageAgeByDepartment() {
+        checkCurrent();
+        long[][] totals = parallel()
+                ? ForkJoinPool.commonPool().invoke(new GroupTask(0, words.length))
+                : groupAges(0, words.length);
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int code = 0; code < totals[0].length; code++) {
+            if (totals[1][code] > 0) {
+                result.put(table.departmentName(code), (double) totals[0][code] / totals[1][code]);
+            }
+        }
+        return result;
+    }
+
+    // Умножает зарплату выбранных сотрудников на коэффициент прямо в столбце таблицы
+    public void multiplySalary(double factor) {
+        checkCurrent();
+        double[] salaries = table.salaries();
+        forWords((from, to) -> {
+            for (int w = from; w < to; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    salaries[(w << 6) + Long.numberOfTrailingZeros(word)] *= factor;
+                }
+            }
+        });
+    }
+
+    // Номера выбранных строк в алфавитном порядке имен (сортировка индексов слиянием, без упаковки)
+    public int[] orderByName() {
+        checkCurrent();
+        String[] names = table.names();
+        int[] order = new int[count()];
+        int[] position = {0};
+        forEachRow(row -> order[position[0]++] = row);
+        int[] buffer = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int from = 0; from < order.length - width; from += 2 * width) {
+                int middle = from + width;
+                int to = Math.min(from + 2 * width, order.length);
+                if (names[order[middle - 1]].compareTo(names[order[middle]]) <= 0) continue;
+                System.arraycopy(order, from, buffer, from, to - from);
+                for (int k = from, left = from, right = middle; k < to; k++) {
+                    if (right >= to || (left < middle && names[buffer[left]].compareTo(names[buffer[right]]) <= 0)) {
+                        order[k] = buffer[left++];
+                    } else {
+                        order[k] = buffer[right++];
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    public void forEachRow(RowConsumer action) {
+        checkCurrent();
+        for (int w = 0; w < words.length; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * Действие над номером строки.
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(int row);
+    }
+
+    // Маска для блока из rows строк, начиная с base
+    @FunctionalInterface
+    private interface BlockFilter {
+        long apply(int base, int rows);
+    }
+
+    @FunctionalInterface
+    private interface WordRange {
+        void apply(int from, int to);
+    }
+
+    private EmployeeQuery filter(BlockFilter filter) {
+        checkCurrent();
+        long[] result = new long[words.length];
+        forWords((from, to) -> {
+            for (int w = from; w < to; w++) {
+                long word = words[w];
+                if (word == 0) continue;
+                int base = w << 6;
+                result[w] = word & filter.apply(base, Math.min(64, size - base));
+            }
+        });
+        return new EmployeeQuery(table, result);
+    }
+
+    // Маска построена для других строк, если таблицу с тех пор сортировали или дополняли
+    private void checkCurrent() {
+        if (table.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException("Таблица изменилась после построения запроса, постройте его заново");
+        }
+    }
+
+    private long[][] groupAges(int from, int to) {
+        int[] ages = table.ages();
+        int[] codes = table.departmentCodes();
+        long[] sums = new long[table.departmentCount()];
+        long[] counts = new long[table.departmentCount()];
+        for (int w = from; w < to; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                sums[codes[row]] += ages[row];
+                counts[codes[row]]++;
+            }
+        }
+        return new long[][]{sums, counts};
+    }
+
+    private boolean parallel() {
+        return size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private void forWords(WordRange body) {
+        if (parallel()) {
+            ForkJoinPool.commonPool().invoke(new WordTask(body, 0, words.length));
+        } else {
+            body.apply(0, words.length);
+        }
+    }
+
+    private static final class WordTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WordRange body;
+        private final int from;
+        private final int to;
+
+        WordTask(WordRange body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_WORDS) {
+                body.apply(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new WordTask(body, from, middle), new WordTask(body, middle, to));
+        }
+    }
+
+    private final class GroupTask extends RecursiveTask<long[][]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        GroupTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[][] compute() {
+            if (to - from <= LEAF_WORDS) return groupAges(from, to);
+            int middle = (from + to) >>> 1;
+            GroupTask left = new GroupTask(from, middle);
+            left.fork();
+            long[][] right = new GroupTask(middle, to).compute();
+            long[][] result = left.join();
+            for (int code = 0; code < result[0].length; code++) {
+                result[0][code] += right[0][code];
+                result[1][code] += right[1][code];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package func8_stream.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Таблица сотрудников по столбцам: имена, возраст, код отдела и зарплата лежат в отдельных
+ * массивах, объект на строку не создается. Отдел хранится кодом из словаря (int вместо String),
+ * поэтому группировка по отделу - это индекс в массиве, а не поиск в HashMap.
+ * Запросы строятся через {@link #select()}.
+ */
+public class EmployeeTable {
+    private String[] names;
+    private int[] ages;
+    private int[] departmentCodes;
+    private double[] salaries;
+    private int size;
+    // Счетчик изменений набора и порядка строк: по нему запросы замечают, что устарели
+    private int modCount;
+
+    private final List<String> departments = new ArrayList<>();
+    private final Map<String, Integer> departmentIndex = new HashMap<>();
+
+    public EmployeeTable() {
+        this(16);
+    }
+
+    public EmployeeTable(int capacity) {
+        names = new String[capacity];
+        ages = new int[capacity];
+        departmentCodes = new int[capacity];
+        salaries = new double[capacity];
+    }
+
+    public static EmployeeTable from(Collection<Employee> employees) {
+        EmployeeTable table = new EmployeeTable(employees.size());
+        for (Employee employee : employees) {
+            table.add(employee.getName(), employee.getAge(), employee.getDepartment(), employee.getSalary());
+        }
+        return table;
+    }
+
+    public void add(String name, int age, String department, double salary) {
+        if (size == names.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            names = Arrays.copyOf(names, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+        }
+        names[size] = name;
+        ages[size] = age;
+        departmentCodes[size] = departmentIndex.computeIfAbsent(department, key -> {
+            departments.add(key);
+            return departments.size() - 1;
+        });
+        salaries[size] = salary;
+        size++;
+        modCount++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Запрос по всем строкам таблицы
+    public EmployeeQuery select() {
+        return EmployeeQuery.all(this);
+    }
+
+    // Объект Employee для одной строки - копия, изменения в нем не попадают в таблицу
+    public Employee row(int row) {
+        return new Employee(names[row], ages[row], departments.get(departmentCodes[row]), salaries[row]);
+    }
+
+    // Переставляет строки таблицы в алфавитном порядке имен
+    public void sortByName() {
+        int[] order = select().orderByName();
+        String[] sortedNames = new String[names.length];
+        int[] sortedAges = new int[ages.length];
+        int[] sortedCodes = new int[departmentCodes.length];
+        double[] sortedSalaries = new double[salaries.length];
+        for (int i = 0; i < size; i++) {
+            int row = order[i];
+            sortedNames[i] = names[row];
+            sortedAges[i] = ages[row];
+            sortedCodes[i] = departmentCodes[row];
+            sortedSalaries[i] = salaries[row];
+        }
+        names = sortedNames;
+        ages = sortedAges;
+        departmentCodes = sortedCodes;
+        salaries = sortedSalaries;
+        modCount++;
+    }
+
+    int modCount() {
+        return modCount;
+    }
+
+    // Код отдела или -1, если такого отдела в таблице нет
+    int departmentCode(String department) {
+        Integer code = departmentIndex.get(department);
+        return code == null ? -1 : code;
+    }
+
+    String departmentName(int code) {
+        return departments.get(code);
+    }
+
+    int departmentCount() {
+        return departments.size();
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    int[] ages() {
+        return ages;
+    }
+
+    int[] departmentCodes() {
+        return departmentCodes;
+    }
+
+    double[] salaries() {
+        return salaries;
+    }
+}
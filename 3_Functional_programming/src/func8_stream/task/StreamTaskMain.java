@@ -0,0 +1,67 @@
+package func8_stream.task;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class StreamTaskMain {
+    public static void main(String[] args) {
+        List<Employee> employees = List.of(
+                new Employee("Ольга", 34, "IT", 180_000),
+                new Employee("Сергей", 28, "IT", 150_000),
+                new Employee("Анна", 41, "HR", 90_000),
+                new Employee("Павел", 25, "Sales", 70_000),
+                new Employee("Ирина", 37, "HR", 95_000),
+                new Employee("Максим", 45, "IT", 220_000),
+                new Employee("Татьяна", 29, "Sales", 80_000),
+                new Employee("Николай", 52, "Finance", 160_000),
+                new Employee("Юлия", 31, "Finance", 140_000),
+                new Employee("Артем", 23, "HR", 60_000)
+        );
+        // Столбцовая копия до изменений (используется в конце)
+        EmployeeTable table = EmployeeTable.from(employees);
+
+        // Сотрудники старше 30 лет
+        List<Employee> olderThan30 = employees.stream()
+                .filter(e -> e.getAge() > 30)
+                .collect(Collectors.toList());
+        System.out.println("Старше 30 лет: " + olderThan30);
+
+        // Имена сотрудников отдела IT
+        List<String> itNames = employees.stream()
+                .filter(e -> e.getDepartment().equals("IT"))
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+        System.out.println("Отдел IT: " + itNames);
+
+        // Сотрудник с максимальной зарплатой
+        Optional<Employee> richest = employees.stream().max(Comparator.comparingDouble(Employee::getSalary));
+        richest.ifPresent(e -> System.out.println("Максимальная зарплата: " + e));
+
+        // Средний возраст по отделам
+        Map<String, Double> averageAge = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.averagingInt(Employee::getAge)));
+        System.out.println("Средний возраст по отделам: " + averageAge);
+
+        // Повышение зарплаты в отделе HR на 10%
+        employees.stream()
+                .filter(e -> e.getDepartment().equals("HR"))
+                .forEach(e -> e.setSalary(e.getSalary() * 1.1));
+
+        // Сортировка по имени
+        System.out.println("По имени:");
+        employees.stream()
+                .sorted(Comparator.comparing(Employee::getName))
+                .forEach(System.out::println);
+
+        // Те же операции по столбцам: для десятков миллионов строк без объекта на строку
+        System.out.println("Старше 30 лет (таблица): " + table.select().ageGreaterThan(30).count());
+        System.out.println("Отдел IT (таблица): " + table.select().department("IT").names());
+        System.out.println("Средний возраст (таблица): " + table.select().averageAgeByDepartment());
+        table.select().department("HR").multiplySalary(1.1);
+        table.sortByName();
+        table.select().rows().forEach(System.out::println);
+    }
+}
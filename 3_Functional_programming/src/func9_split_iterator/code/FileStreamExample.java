@@ -1,18 +1,65 @@
 package func9_split_iterator.code;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class FileStreamExample {
+    private static final Set<String> TEXT_EXTENSIONS = Set.of(
+            "java", "txt", "md", "xml", "properties", "json", "yml", "yaml", "csv", "html", "gradle", "kts");
+
     public static void main(String[] args) {
         File rootDir = new File(".");
 
         Spliterator<File> fileSpliterator = new FileSpliterator(rootDir);
         Stream<File> fileStream = StreamSupport.stream(fileSpliterator, true); // true для параллельного потока
 
-        fileStream.filter(File::isFile)
-                .forEach(file -> System.out.println(file.getAbsolutePath()));
+        // Обход выполняется один раз, список файлов используется и для печати, и для поиска
+        List<File> files = fileStream.filter(File::isFile).collect(Collectors.toList());
+        files.forEach(file -> System.out.println(file.getAbsolutePath()));
+
+        // Содержимое текстовых файлов: строки читаются из отображенного в память файла без создания String.
+        // Двоичные файлы (.class, архивы, картинки) отсекаются по расширению, не отображаясь в память
+        byte[] needle = LineView.pattern("TODO");
+        long todoLines = files.parallelStream()
+                .filter(FileStreamExample::isText)
+                .mapToLong(file -> countLines(file, needle))
+                .sum();
+        System.out.println("Строк с TODO: " + todoLines);
+
+        // Повторные запуски: индекс с диска, перечитываются только изменившиеся каталоги
+        Path indexFile = Path.of(System.getProperty("java.io.tmpdir"), "file-tree.idx");
+        try (FileTreeIndex index = FileTreeIndex.load(indexFile, rootDir.toPath(), false)) {
+            long changes = index.refresh();
+            index.save(indexFile);
+            System.out.println("Изменений с прошлого запуска: " + changes);
+            index.files().parallel()
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .forEach(System.out::println);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isText(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && TEXT_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static long countLines(File file, byte[] needle) {
+        try (Stream<LineView> lines = MappedLineSpliterator.lines(file.toPath(), true)) {
+            return lines.filter(line -> line.contains(needle)).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-}
\ No newline at end of file
+}
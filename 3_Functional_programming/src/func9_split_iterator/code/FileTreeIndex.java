@@ -0,0 +1,423 @@
+package func9_split_iterator.code;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Индекс дерева файлов: путь, размер, время изменения и (по желанию) хеш содержимого.
+ * <p>
+ * Индекс сохраняется на диск в компактном двоичном виде (пути отсортированы и хранят только
+ * отличие от предыдущего пути) с контрольной суммой CRC32C в конце. Повторный {@link #refresh()} сравнивает время изменения каталогов:
+ * содержимое перечитывается только у каталогов, где что-то создавалось, удалялось или
+ * переименовывалось. Изменения содержимого файлов в неизмененных каталогах находит проверка
+ * атрибутов файлов ({@link #refresh(boolean)}, по умолчанию выключена), а пока индекс живет -
+ * {@link WatchService} ({@link #startWatching()}), который обновляет только затронутые записи.
+ * Результат доступен как {@code Stream<Path>}, поэтому существующие цепочки фильтров не меняются.
+ */
+public class FileTreeIndex implements AutoCloseable {
+    private static final int MAGIC = 0x46544958; // "FTIX"
+    private static final int VERSION = 2;
+    private static final LinkOption[] NO_FOLLOW = {LinkOption.NOFOLLOW_LINKS};
+    // Предел длины относительного пути в файле индекса: больше - признак порчи
+    private static final int MAX_PATH_BYTES = 1 << 16;
+
+    private final Path root;
+    private final boolean hashContents;
+    // Относительные пути с разделителем '/'; корень - пустая строка
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+
+    private WatchService watchService;
+    private final Map<WatchKey, String> watchedDirectories = new ConcurrentHashMap<>();
+    private Thread watcher;
+
+    public FileTreeIndex(Path root, boolean hashContents) {
+        this.root = root.toAbsolutePath().normalize();
+        this.hashContents = hashContents;
+    }
+
+    /**
+     * Загружает сохраненный индекс. Если файла нет, он построен для другого корня, обрезан или
+     * поврежден, возвращается пустой индекс - первый {@link #refresh()} выполнит полный обход.
+     */
+    public static FileTreeIndex load(Path indexFile, Path root, boolean hashContents) throws IOException {
+        FileTreeIndex index = new FileTreeIndex(root, hashContents);
+        if (!Files.exists(indexFile)) return index;
+
+        // Сумма проверяется до разбора: испорченный путь иначе мог бы попасть в индекс как настоящий
+        byte[] bytes = Files.readAllBytes(indexFile);
+        int body = bytes.length - Long.BYTES;
+        if (body < 0) return index;
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, body);
+        if (ByteBuffer.wrap(bytes, body, Long.BYTES).getLong() != crc.getValue()) return index;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, body))) {
+            index.read(in);
+        } catch (IOException e) {
+            // Обрезанный или испорченный файл (EOFException и т.п.) - начинаем с пустого индекса
+            return new FileTreeIndex(root, hashContents);
+        }
+        return index;
+    }
+
+    private void read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) return;
+        if (!in.readUTF().equals(root.toString())) return;
+
+        int count = in.readInt();
+        if (count < 0) throw new IOException("Индекс поврежден");
+        byte[] previous = new byte[0];
+        for (int i = 0; i < count; i++) {
+            int shared = readVarInt(in);
+            int suffixLength = readVarInt(in);
+            if (shared < 0 || shared > previous.length || suffixLength < 0 || suffixLength > MAX_PATH_BYTES) {
+                throw new IOException("Индекс поврежден");
+            }
+            byte[] path = new byte[shared + suffixLength];
+            System.arraycopy(previous, 0, path, 0, shared);
+            in.readFully(path, shared, suffixLength);
+            previous = path;
+
+            byte flags = in.readByte();
+            long size = readVarLong(in);
+            long modified = readVarLong(in);
+            long hash = (flags & 2) != 0 ? in.readLong() : 0;
+            entries.put(new String(path, StandardCharsets.UTF_8),
+                    new Entry((flags & 1) != 0, size, modified, (flags & 2) != 0, hash));
+        }
+    }
+
+    // Сохраняет индекс атомарно: запись во временный файл и переименование
+    public synchronized void save(Path indexFile) throws IOException {
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(Files.newOutputStream(temporary), crc)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(root.toString());
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+            out.writeInt(snapshot.size());
+
+            byte[] previous = new byte[0];
+            for (Map.Entry<String, Entry> item : snapshot) {
+                byte[] path = item.getKey().getBytes(StandardCharsets.UTF_8);
+                int shared = sharedPrefix(previous, path);
+                writeVarInt(out, shared);
+                writeVarInt(out, path.length - shared);
+                out.write(path, shared, path.length - shared);
+                previous = path;
+
+                Entry entry = item.getValue();
+                out.writeByte((entry.directory ? 1 : 0) | (entry.hashed ? 2 : 0));
+                writeVarLong(out, entry.size);
+                writeVarLong(out, entry.modified);
+                if (entry.hashed) out.writeLong(entry.hash);
+            }
+            out.flush();
+            out.writeLong(crc.getValue()); // сумма всего, что записано до нее
+        }
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Приводит индекс в соответствие с диском.
+     *
+     * @param verifyFiles проверять атрибуты файлов и в каталогах, список которых не менялся
+     *                    (иначе изменения содержимого там заметит только {@link #startWatching()})
+     * @return число добавленных, удаленных и измененных записей
+     */
+    public synchronized long refresh(boolean verifyFiles) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class, NO_FOLLOW);
+        return scanDirectory("", attributes, verifyFiles);
+    }
+
+    // Только сравнение времени изменения каталогов, без проверки атрибутов файлов
+    public long refresh() throws IOException {
+        return refresh(false);
+    }
+
+    // Все пути индекса (каталоги и файлы), как выдавал FileSpliterator
+    public Stream<Path> paths() {
+        return entries.keySet().stream().map(this::resolve);
+    }
+
+    public Stream<Path> files() {
+        return entries.entrySet().stream()
+                .filter(item -> !item.getValue().directory)
+                .map(item -> resolve(item.getKey()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Хеш содержимого файла (CRC32C) или null, если хеши не считаются или путь не в индексе
+    public Long contentHash(Path path) {
+        Entry entry = entries.get(relative(path));
+        return entry != null && entry.hashed ? entry.hash : null;
+    }
+
+    /**
+     * Начинает следить за деревом через WatchService; изменения применяются к индексу
+     * в фоновом потоке.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null) return;
+        watchService = root.getFileSystem().newWatchService();
+        for (Map.Entry<String, Entry> item : entries.entrySet()) {
+            if (item.getValue().directory) register(item.getKey());
+        }
+        watcher = new Thread(this::watchLoop, "file-tree-index-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+            watchedDirectories.clear();
+        }
+    }
+
+    private long scanDirectory(String directory, BasicFileAttributes attributes, boolean verifyFiles)
+            throws IOException {
+        long changes = 0;
+        Entry previous = entries.get(directory);
+        long modified = attributes.lastModifiedTime().toMillis();
+        boolean listingChanged = previous == null || !previous.directory || previous.modified != modified;
+        if (previous == null || !previous.directory) changes++;
+        entries.put(directory, new Entry(true, 0, modified, false, 0));
+        if (watchService != null && listingChanged) register(directory);
+
+        if (!listingChanged) {
+            // Список каталога не менялся: перечитывать его не нужно, обходим известных детей
+            for (Map.Entry<String, Entry> child : children(directory)) {
+                if (!child.getValue().directory && !verifyFiles) continue;
+                changes += refreshEntry(child.getKey(), verifyFiles);
+            }
+            return changes;
+        }
+
+        Set<String> present = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(resolve(directory))) {
+            for (Path child : stream) {
+                String name = child(directory, child.getFileName().toString());
+                present.add(name);
+                changes += refreshEntry(name, verifyFiles);
+            }
+        } catch (NoSuchFileException e) {
+            // Каталог исчез во время обхода - его записи удалит родитель
+        }
+        for (Map.Entry<String, Entry> known : children(directory)) {
+            if (!present.contains(known.getKey())) changes += removeSubtree(known.getKey());
+        }
+        return changes;
+    }
+
+    // Перечитывает атрибуты одной записи; каталоги обходятся рекурсивно
+    private long refreshEntry(String path, boolean verifyFiles) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(resolve(path), BasicFileAttributes.class, NO_FOLLOW);
+        } catch (NoSuchFileException e) {
+            return removeSubtree(path);
+        }
+        if (attributes.isDirectory()) return scanDirectory(path, attributes, verifyFiles);
+
+        Entry previous = entries.get(path);
+        long modified = attributes.lastModifiedTime().toMillis();
+        // Хешируются только обычные файлы: у ссылок и специальных файлов хеша нет и при hashContents
+        boolean hashed = hashContents && attributes.isRegularFile();
+        if (previous != null && !previous.directory && previous.size == attributes.size()
+                && previous.modified == modified && previous.hashed == hashed) {
+            return 0;
+        }
+        long changes = previous != null && previous.directory ? removeSubtree(path) : 0;
+        long hash = hashed ? hash(resolve(path)) : 0;
+        entries.put(path, new Entry(false, attributes.size(), modified, hashed, hash));
+        return changes + 1;
+    }
+
+    private long removeSubtree(String path) {
+        long removed = entries.remove(path) != null ? 1 : 0;
+        NavigableMap<String, Entry> descendants = descendants(path);
+        removed += descendants.size();
+        descendants.clear();
+        return removed;
+    }
+
+    // Все потомки каталога: ключи от "dir/" до "dir0" ('0' следует за '/')
+    private NavigableMap<String, Entry> descendants(String directory) {
+        if (directory.isEmpty()) return entries.tailMap("", false);
+        return entries.subMap(directory + "/", true, directory + "0", false);
+    }
+
+    // Прямые дети каталога: поддерево каждого ребенка-каталога пропускается одним переходом
+    // к ключу "child0", поэтому внуки не перебираются
+    private List<Map.Entry<String, Entry>> children(String directory) {
+        List<Map.Entry<String, Entry>> result = new ArrayList<>();
+        NavigableMap<String, Entry> range = descendants(directory);
+        int depth = directory.isEmpty() ? 0 : directory.length() + 1;
+        Map.Entry<String, Entry> item = range.firstEntry();
+        while (item != null) {
+            String key = item.getKey();
+            int slash = key.indexOf('/', depth);
+            if (slash < 0) {
+                result.add(item);
+                item = range.higherEntry(key);
+            } else {
+                item = range.ceilingEntry(key.substring(0, slash) + "0");
+            }
+        }
+        return result;
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            String directory = watchedDirectories.get(key);
+            if (directory != null) {
+                synchronized (this) {
+                    applyEvents(directory, key);
+                }
+            }
+            if (!key.reset()) watchedDirectories.remove(key);
+        }
+    }
+
+    private void applyEvents(String directory, WatchKey key) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            try {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // События потеряны - перечитываем каталог целиком
+                    refreshEntry(directory, true);
+                } else {
+                    refreshEntry(child(directory, event.context().toString()), true);
+                }
+            } catch (IOException e) {
+                // Ошибка чтения одной записи не останавливает наблюдение; ее исправит следующий refresh
+            }
+        }
+    }
+
+    private void register(String directory) throws IOException {
+        WatchKey key = resolve(directory).register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirectories.put(key, directory);
+    }
+
+    private long hash(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private Path resolve(String relative) {
+        return relative.isEmpty() ? root : root.resolve(relative);
+    }
+
+    private String relative(Path path) {
+        Path relative = root.relativize(path.toAbsolutePath().normalize());
+        return relative.toString().replace(root.getFileSystem().getSeparator(), "/");
+    }
+
+    private static String child(String directory, String name) {
+        return directory.isEmpty() ? name : directory + "/" + name;
+    }
+
+    private static int sharedPrefix(byte[] a, byte[] b) {
+        int length = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < length && a[i] == b[i]) i++;
+        return i;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new IOException("Индекс поврежден");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    private static final class Entry {
+        final boolean directory;
+        final long size;
+        final long modified;
+        final boolean hashed;
+        final long hash;
+
+        Entry(boolean directory, long size, long modified, boolean hashed, long hash) {
+            this.directory = directory;
+            this.size = size;
+            this.modified = modified;
+            this.hashed = hashed;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package func9_split_iterator.code;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Сравнение параллельного обхода {@link FileSpliterator} и {@link FileWalkSpliterator}
+ * на синтетическом дереве.
+ * <p>
+ * Дерево несимметрично: половина файлов лежит в одной глубокой цепочке каталогов,
+ * остальные распределены по широкому дереву - на таком дереве исходное разделение очереди
+ * оставляет основную работу одному потоку. Запуск:
+ * {@code java func9_split_iterator.code.FileWalkBenchmark [число файлов] [каталог]},
+ * по умолчанию миллион файлов во временном каталоге, который удаляется после замера.
+ */
+public class FileWalkBenchmark {
+    private static final int FILES_PER_DIRECTORY = 100;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        boolean temporary = args.length < 2;
+        Path root = temporary ? Files.createTempDirectory("walk-benchmark") : Path.of(args[1]);
+
+        try {
+            long start = System.nanoTime();
+            createTree(root, fileCount);
+            System.out.printf("Дерево из %,d файлов создано за %.1f с%n", fileCount, (System.nanoTime() - start) / 1e9);
+
+            for (int round = 0; round < ROUNDS; round++) {
+                measure("FileSpliterator", () -> StreamSupport.stream(new FileSpliterator(root.toFile()), true)
+                        .filter(File::isFile)
+                        .count());
+                measure("FileWalkSpliterator", () -> {
+                    try (Stream<WalkEntry> entries = FileWalkSpliterator.stream(root, true)) {
+                        return entries.filter(WalkEntry::isRegularFile).count();
+                    }
+                });
+            }
+        } finally {
+            if (temporary) delete(root);
+        }
+    }
+
+    private static void measure(String name, Walk walk) throws IOException {
+        long start = System.nanoTime();
+        long files = walk.count();
+        System.out.printf("%-20s %,10d файлов  %8.1f мс%n", name, files, (System.nanoTime() - start) / 1e6);
+    }
+
+    // Половина файлов - в глубокой цепочке, половина - в широком дереве каталогов
+    private static void createTree(Path root, int fileCount) throws IOException {
+        int directories = Math.max(1, fileCount / FILES_PER_DIRECTORY);
+        int deep = directories / 2;
+
+        Path chain = root.resolve("deep");
+        for (int i = 0; i < deep; i++) {
+            chain = chain.resolve("d" + (i % 10));
+            if (i % 64 == 63) chain = root.resolve("deep").resolve("branch" + i); // ограничиваем длину пути
+            fill(Files.createDirectories(chain));
+        }
+        for (int i = deep; i < directories; i++) {
+            fill(Files.createDirectories(root.resolve("wide").resolve("g" + (i / 100)).resolve("d" + i)));
+        }
+    }
+
+    private static void fill(Path directory) throws IOException {
+        for (int i = 0; i < FILES_PER_DIRECTORY; i++) {
+            Path file = directory.resolve("f" + i);
+            if (!Files.exists(file)) Files.createFile(file);
+        }
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Walk {
+        long count() throws IOException;
+    }
+}
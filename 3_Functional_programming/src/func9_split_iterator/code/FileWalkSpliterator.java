@@ -0,0 +1,212 @@
+package func9_split_iterator.code;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Параллельный обход дерева каталогов на {@code java.nio.file}.
+ * <p>
+ * Каждый Spliterator держит дек еще не выданных элементов. Владелец работает с головы дека
+ * (обход в глубину), а {@link #trySplit()} отдает половину хвоста - самые старые и неглубокие
+ * элементы, за которыми обычно стоят самые большие поддеревья, как при work stealing.
+ * Если остался единственный каталог, он раскрывается прямо при разделении, чтобы работа
+ * не застревала на одном потоке. Атрибуты каждого элемента читаются один раз при чтении
+ * каталога, а оценка размера уточняется по мере раскрытия каталогов.
+ */
+public class FileWalkSpliterator implements Spliterator<WalkEntry> {
+    private static final LinkOption[] NO_FOLLOW = {LinkOption.NOFOLLOW_LINKS};
+    private static final LinkOption[] FOLLOW = {};
+
+    private final Deque<Node> pending;
+    private final int maxDepth;
+    private final boolean followLinks;
+    private final WalkStatistics statistics;
+
+    /**
+     * @param root        корень обхода (выдается первым элементом)
+     * @param maxDepth    максимальная глубина; 0 - только корень
+     * @param followLinks переходить по символическим ссылкам; циклы ссылок обнаруживаются и пропускаются
+     */
+    public FileWalkSpliterator(Path root, int maxDepth, boolean followLinks) throws IOException {
+        this.pending = new ArrayDeque<>();
+        this.maxDepth = maxDepth;
+        this.followLinks = followLinks;
+        this.statistics = new WalkStatistics();
+        BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class, linkOptions());
+        pending.add(new Node(new WalkEntry(root, attributes, 0), null));
+    }
+
+    private FileWalkSpliterator(Deque<Node> pending, int maxDepth, boolean followLinks, WalkStatistics statistics) {
+        this.pending = pending;
+        this.maxDepth = maxDepth;
+        this.followLinks = followLinks;
+        this.statistics = statistics;
+    }
+
+    public static Stream<WalkEntry> stream(Path root, int maxDepth, boolean followLinks, boolean parallel)
+            throws IOException {
+        return StreamSupport.stream(new FileWalkSpliterator(root, maxDepth, followLinks), parallel);
+    }
+
+    // Обход без ограничения глубины и без перехода по ссылкам
+    public static Stream<WalkEntry> stream(Path root, boolean parallel) throws IOException {
+        return stream(root, Integer.MAX_VALUE, false, parallel);
+    }
+
+    // Сколько символических ссылок было пропущено из-за цикла
+    public long getSkippedLoops() {
+        return statistics.loops.get();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super WalkEntry> action) {
+        Node node = pending.pollFirst();
+        if (node == null) return false;
+
+        if (!node.expanded) expand(node);
+        action.accept(node.entry);
+        return true;
+    }
+
+    @Override
+    public Spliterator<WalkEntry> trySplit() {
+        if (pending.size() == 1) {
+            // Единственный каталог раскрываем сейчас: его содержимое можно разделить
+            Node node = pending.peekFirst();
+            if (node.expanded || !expand(node)) return null;
+        }
+        int size = pending.size();
+        if (size <= 1) return null;
+
+        Deque<Node> stolen = new ArrayDeque<>(size / 2);
+        for (int i = 0; i < size / 2; i++) stolen.addFirst(pending.pollLast());
+
+        return new FileWalkSpliterator(stolen, maxDepth, followLinks, statistics);
+    }
+
+    @Override
+    public long estimateSize() {
+        // Известные элементы плюс ожидаемое содержимое еще не раскрытых каталогов
+        long unexpanded = 0;
+        for (Node node : pending) {
+            if (!node.expanded && node.entry.isDirectory()) unexpanded++;
+        }
+        return pending.size() + (long) (unexpanded * statistics.averageEntriesPerDirectory());
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | DISTINCT;
+    }
+
+    // Читает каталог и кладет его содержимое в голову дека; false, если раскрывать нечего
+    private boolean expand(Node node) {
+        node.expanded = true;
+        WalkEntry entry = node.entry;
+        if (!entry.isDirectory() || entry.getDepth() >= maxDepth) return false;
+
+        Object key = fileKey(entry);
+        if (followLinks && isLoop(node.parent, entry, key)) {
+            statistics.loops.incrementAndGet();
+            return false;
+        }
+        Ancestor ancestor = followLinks ? new Ancestor(key, entry.getPath(), node.parent) : null;
+
+        int depth = entry.getDepth() + 1;
+        int count = 0;
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(entry.getPath())) {
+            for (Path child : children) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(child, BasicFileAttributes.class, linkOptions());
+                } catch (IOException e) {
+                    continue; // файл исчез или недоступен
+                }
+                pending.addFirst(new Node(new WalkEntry(child, attributes, depth), ancestor));
+                count++;
+            }
+        } catch (IOException | SecurityException e) {
+            return false; // каталог недоступен - пропускаем, как File.listFiles
+        } catch (DirectoryIteratorException e) {
+            // Ошибка чтения посреди каталога: остаток пропускаем, уже прочитанные элементы оставляем
+        }
+        statistics.record(count);
+        return count > 0;
+    }
+
+    private boolean isLoop(Ancestor ancestor, WalkEntry entry, Object key) {
+        for (Ancestor current = ancestor; current != null; current = current.parent) {
+            if (key != null && current.key != null) {
+                if (key.equals(current.key)) return true;
+            } else {
+                try {
+                    if (Files.isSameFile(entry.getPath(), current.path)) return true;
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Object fileKey(WalkEntry entry) {
+        return entry.getAttributes().fileKey();
+    }
+
+    private LinkOption[] linkOptions() {
+        return followLinks ? FOLLOW : NO_FOLLOW;
+    }
+
+    private static final class Node {
+        final WalkEntry entry;
+        final Ancestor parent;
+        boolean expanded;
+
+        Node(WalkEntry entry, Ancestor parent) {
+            this.entry = entry;
+            this.parent = parent;
+        }
+    }
+
+    // Цепочка каталогов-предков для поиска циклов символических ссылок
+    private static final class Ancestor {
+        final Object key;
+        final Path path;
+        final Ancestor parent;
+
+        Ancestor(Object key, Path path, Ancestor parent) {
+            this.key = key;
+            this.path = path;
+            this.parent = parent;
+        }
+    }
+
+    // Общая для всех частей обхода статистика раскрытых каталогов
+    private static final class WalkStatistics {
+        final AtomicLong directories = new AtomicLong();
+        final AtomicLong entries = new AtomicLong();
+        final AtomicLong loops = new AtomicLong();
+
+        void record(int count) {
+            directories.incrementAndGet();
+            entries.addAndGet(count);
+        }
+
+        double averageEntriesPerDirectory() {
+            long expanded = directories.get();
+            return expanded == 0 ? 1.0 : (double) entries.get() / expanded;
+        }
+    }
+}
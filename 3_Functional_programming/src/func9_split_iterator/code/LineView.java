@@ -0,0 +1,78 @@
+package func9_split_iterator.code;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Строка файла как окно в отображенный в память буфер: байты не копируются,
+ * {@link String} создается только по явному запросу ({@link #toString()}).
+ * Строка хранится без завершающих {@code \n} и {@code \r}.
+ */
+public final class LineView {
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    LineView(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    // Образец для поиска: перевести строку в байты один раз, а не для каждой строки файла
+    public static byte[] pattern(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Длина в байтах
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public byte byteAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+        return buffer.get(offset + index);
+    }
+
+    public boolean startsWith(byte[] prefix) {
+        return prefix.length <= length && matchesAt(0, prefix);
+    }
+
+    public boolean contains(byte[] needle) {
+        return indexOf(needle) >= 0;
+    }
+
+    // Позиция первого вхождения в байтах или -1
+    public int indexOf(byte[] needle) {
+        if (needle.length == 0) return 0;
+        byte first = needle[0];
+        int last = length - needle.length;
+        for (int i = 0; i <= last; i++) {
+            if (buffer.get(offset + i) == first && matchesAt(i, needle)) return i;
+        }
+        return -1;
+    }
+
+    private boolean matchesAt(int position, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(offset + position + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    // Копия байтов строки
+    public byte[] toBytes() {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return new String(toBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package func9_split_iterator.code;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator строк файла, отображенного в память через {@link FileChannel#map}.
+ * <p>
+ * Каждая часть отвечает за диапазон байтов, который начинается в начале строки и заканчивается
+ * сразу после {@code \n} (или в конце файла). {@link #trySplit()} делит диапазон пополам и сдвигает
+ * точку раздела к ближайшему переводу строки, поэтому части получаются примерно равными по объему.
+ * Файл отображается окнами по {@value #WINDOW_SIZE} байт, так что размер файла не ограничен
+ * 2 ГБ одного {@link MappedByteBuffer}. Строка длиннее окна отображается отдельным окном по своей
+ * длине; строка длиннее {@link Integer#MAX_VALUE} байт не помещается в буфер, и на ней бросается
+ * {@link UncheckedIOException}. Строки выдаются как {@link LineView} без копирования.
+ */
+public class MappedLineSpliterator implements Spliterator<LineView> {
+    static final int WINDOW_SIZE = 256 * 1024 * 1024;
+    // Части меньше этого размера не делятся: накладные расходы больше выигрыша
+    private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+    // Оценка средней длины строки для estimateSize
+    private static final int AVERAGE_LINE_LENGTH = 80;
+    private static final int SCAN_CHUNK = 8192;
+
+    private final FileChannel channel;
+    private long position;
+    private final long end;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    public MappedLineSpliterator(FileChannel channel) throws IOException {
+        this(channel, 0, channel.size());
+    }
+
+    private MappedLineSpliterator(FileChannel channel, long position, long end) {
+        this.channel = channel;
+        this.position = position;
+        this.end = end;
+    }
+
+    // Поток строк файла; канал закрывается вместе с потоком
+    public static Stream<LineView> lines(Path file, boolean parallel) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return StreamSupport.stream(new MappedLineSpliterator(channel), parallel)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (RuntimeException | IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super LineView> action) {
+        if (position >= end) return false;
+
+        if (window == null || position >= windowEnd) map(position);
+        int from = (int) (position - windowStart);
+        int limit = (int) (Math.min(windowEnd, end) - windowStart);
+        int newLine = find(window, from, limit);
+        if (newLine < 0 && windowEnd < end) {
+            // Строка не поместилась в остаток окна - отображаем окно заново с ее начала
+            map(position);
+            from = 0;
+            limit = (int) (Math.min(windowEnd, end) - windowStart);
+            newLine = find(window, from, limit);
+            if (newLine < 0 && windowEnd < end) {
+                // Строка длиннее окна - отображаем ее целиком, иначе она распалась бы на несколько
+                mapLine(position);
+                limit = (int) (windowEnd - windowStart);
+                newLine = find(window, limit - 1, limit);
+            }
+        }
+
+        int lineEnd = newLine >= 0 ? newLine : limit;
+        position = windowStart + (newLine >= 0 ? newLine + 1 : limit);
+        if (lineEnd > from && window.get(lineEnd - 1) == '\r') lineEnd--;
+        action.accept(new LineView(window, from, lineEnd - from));
+        return true;
+    }
+
+    @Override
+    public Spliterator<LineView> trySplit() {
+        long remaining = end - position;
+        if (remaining < 2 * MIN_SPLIT_SIZE) return null;
+
+        long split = nextLineStart(position + remaining / 2);
+        if (split <= position || split >= end) return null;
+
+        // Для ORDERED отдается префикс диапазона, эта часть продолжает с точки раздела
+        MappedLineSpliterator prefix = new MappedLineSpliterator(channel, position, split);
+        position = split;
+        if (window != null && position >= windowEnd) window = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (end - position) / AVERAGE_LINE_LENGTH + 1;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    private void map(long from) {
+        map(from, Math.min(WINDOW_SIZE, end - from));
+    }
+
+    // Окно ровно от начала строки до ее \n включительно (или до конца диапазона)
+    private void mapLine(long from) {
+        long next = nextLineStart(windowEnd);
+        long lineEnd = next < 0 ? end : next;
+        if (lineEnd - from > Integer.MAX_VALUE) {
+            throw new UncheckedIOException(new IOException(
+                    "Строка с позиции " + from + " длиннее " + Integer.MAX_VALUE + " байт"));
+        }
+        map(from, lineEnd - from);
+    }
+
+    private void map(long from, long size) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        windowStart = from;
+        windowEnd = from + size;
+    }
+
+    private static int find(ByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+
+    // Начало строки, следующей за позицией (позиционное чтение канала потокобезопасно)
+    private long nextLineStart(long from) {
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        long offset = from;
+        try {
+            while (offset < end) {
+                chunk.clear();
+                if (end - offset < SCAN_CHUNK) chunk.limit((int) (end - offset));
+                int read = channel.read(chunk, offset);
+                if (read <= 0) return -1;
+                int newLine = find(chunk, 0, read);
+                if (newLine >= 0) return offset + newLine + 1;
+                offset += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return -1;
+    }
+}
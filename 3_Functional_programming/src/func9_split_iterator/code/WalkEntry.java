@@ -0,0 +1,48 @@
+package func9_split_iterator.code;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Элемент обхода: путь, его атрибуты (прочитанные один раз) и глубина от корня.
+ */
+public final class WalkEntry {
+    private final Path path;
+    private final BasicFileAttributes attributes;
+    private final int depth;
+
+    WalkEntry(Path path, BasicFileAttributes attributes, int depth) {
+        this.path = path;
+        this.attributes = attributes;
+        this.depth = depth;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public BasicFileAttributes getAttributes() {
+        return attributes;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isRegularFile() {
+        return attributes.isRegularFile();
+    }
+
+    public boolean isDirectory() {
+        return attributes.isDirectory();
+    }
+
+    public long size() {
+        return attributes.size();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package annotation1_intro.code.registry;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Реестр метаданных аннотаций.
+ * <p>
+ * Все аннотации класса и его методов разрешаются один раз при первом обращении и хранятся в
+ * {@link ClassValue}, поэтому повторные запросы не обращаются к рефлексии и не копируют массивы.
+ * Запись живет, пока жив класс, и не удерживает его загрузчик.
+ * <p>
+ * Попадания и промахи считаются только после {@link #setStatsEnabled(boolean)}: иначе каждый
+ * {@link #get(Class)} писал бы в общие счетчики. Разрешения классов считаются всегда.
+ */
+public final class AnnotationRegistry {
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder precomputed = new LongAdder();
+    private static final LongAdder resolved = new LongAdder();
+    private static final LongAdder resolveNanos = new LongAdder();
+    private static volatile boolean statsEnabled;
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            // Метаданные суперкласса нужны для @Inherited и сами попадают в кэш
+            Class<?> superclass = type.getSuperclass();
+            ClassMetadata parent = superclass == null ? null : resolve(superclass);
+            long start = System.nanoTime();
+            ClassMetadata metadata = new ClassMetadata(type, parent);
+            resolveNanos.add(System.nanoTime() - start);
+            resolved.increment();
+            return metadata;
+        }
+    };
+
+    private AnnotationRegistry() {
+    }
+
+    public static ClassMetadata get(Class<?> type) {
+        ClassMetadata metadata = METADATA.get(type);
+        if (statsEnabled) {
+            record(metadata);
+        }
+        return metadata;
+    }
+
+    // Включает подсчет попаданий и промахов в get
+    public static void setStatsEnabled(boolean enabled) {
+        statsEnabled = enabled;
+    }
+
+    public static <A extends Annotation> A getAnnotation(Class<?> type, Class<A> annotationType) {
+        return get(type).getAnnotation(annotationType);
+    }
+
+    public static <A extends Annotation> List<A> getAnnotationsByType(Class<?> type, Class<A> annotationType) {
+        return get(type).getAnnotationsByType(annotationType);
+    }
+
+    // Заранее разрешает метаданные, чтобы первые запросы не платили за рефлексию
+    public static void warmUp(Class<?>... types) {
+        warmUp(List.of(types));
+    }
+
+    public static void warmUp(Iterable<? extends Class<?>> types) {
+        for (Class<?> type : types) {
+            if (METADATA.get(type).fresh.compareAndSet(true, false)) {
+                precomputed.increment();
+            }
+        }
+    }
+
+    // Сбрасывает запись класса, например после переопределения через агент
+    public static void invalidate(Class<?> type) {
+        METADATA.remove(type);
+    }
+
+    public static RegistryStats stats() {
+        return new RegistryStats(hits.sum(), misses.sum(), precomputed.sum(), resolved.sum(), resolveNanos.sum());
+    }
+
+    public static void resetStats() {
+        hits.reset();
+        misses.reset();
+        precomputed.reset();
+        resolved.reset();
+        resolveNanos.reset();
+    }
+
+    // Промах — первое учтенное обращение к записи, если ее не подготовили заранее
+    private static void record(ClassMetadata metadata) {
+        if (metadata.fresh.get() && metadata.fresh.compareAndSet(true, false)) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+    }
+
+    // Внутреннее обращение: не считается ни попаданием, ни промахом
+    private static ClassMetadata resolve(Class<?> type) {
+        ClassMetadata metadata = METADATA.get(type);
+        metadata.fresh.set(false);
+        return metadata;
+    }
+}
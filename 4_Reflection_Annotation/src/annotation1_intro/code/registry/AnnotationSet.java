@@ -0,0 +1,203 @@
+package annotation1_intro.code.registry;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Неизменяемый набор аннотаций одного элемента (класса или метода).
+ * <p>
+ * Для каждого типа хранится непосредственно присутствующая аннотация и список всех аннотаций
+ * этого типа, включая извлеченные из контейнеров {@link Repeatable}. Типов на элементе обычно
+ * единицы, поэтому поиск — линейный проход по массиву с сравнением по ссылке.
+ */
+public final class AnnotationSet {
+    static final AnnotationSet EMPTY = new AnnotationSet(new Class<?>[0], new Annotation[0], new List<?>[0]);
+
+    // Метод value() контейнера повторяющейся аннотации; пусто, если тип контейнером не является
+    private static final ClassValue<Optional<Method>> CONTAINERS = new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> annotationType) {
+            return Optional.ofNullable(containerValue(annotationType));
+        }
+    };
+
+    private final Class<?>[] types;
+    private final Annotation[] present; // Непосредственно присутствующая аннотация типа или null
+    private final List<?>[] byType;     // Все аннотации типа: прямые и из контейнеров
+
+    private AnnotationSet(Class<?>[] types, Annotation[] present, List<?>[] byType) {
+        this.types = types;
+        this.present = present;
+        this.byType = byType;
+    }
+
+    // Набор из объявленных аннотаций с раскрытием контейнеров
+    static AnnotationSet of(Annotation[] declared) {
+        if (declared.length == 0) {
+            return EMPTY;
+        }
+        Map<Class<?>, Slot> slots = new LinkedHashMap<>();
+        for (Annotation annotation : declared) {
+            slots.computeIfAbsent(annotation.annotationType(), t -> new Slot()).present = annotation;
+        }
+        for (Annotation annotation : declared) {
+            Optional<Method> value = CONTAINERS.get(annotation.annotationType());
+            if (value.isPresent()) {
+                Annotation[] elements = elementsOf(annotation, value.get());
+                for (Annotation element : elements) {
+                    slots.computeIfAbsent(element.annotationType(), t -> new Slot()).contained.add(element);
+                }
+            }
+        }
+        return build(slots);
+    }
+
+    // Добавляет @Inherited-аннотации родителя, типов которых нет в этом наборе
+    AnnotationSet inherit(AnnotationSet parent) {
+        Map<Class<?>, Slot> slots = null;
+        for (int i = 0; i < parent.types.length; i++) {
+            Class<?> type = parent.types[i];
+            if (indexOf(type) >= 0 || !type.isAnnotationPresent(Inherited.class)) {
+                continue;
+            }
+            if (slots == null) {
+                slots = toSlots();
+            }
+            slots.put(type, parent.slotAt(i));
+        }
+        return slots == null ? this : build(slots);
+    }
+
+    // Аналог getAnnotation: непосредственно присутствующая (или унаследованная) аннотация
+    public <A extends Annotation> A get(Class<A> annotationType) {
+        int index = indexOf(annotationType);
+        return index < 0 ? null : annotationType.cast(present[index]);
+    }
+
+    // Аналог getAnnotationsByType: без копирования, список неизменяемый
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> List<A> getByType(Class<A> annotationType) {
+        int index = indexOf(annotationType);
+        return index < 0 ? Collections.emptyList() : (List<A>) byType[index];
+    }
+
+    public boolean isPresent(Class<? extends Annotation> annotationType) {
+        int index = indexOf(annotationType);
+        return index >= 0 && present[index] != null;
+    }
+
+    // Непосредственно присутствующие аннотации в порядке объявления
+    public List<Annotation> annotations() {
+        List<Annotation> result = new ArrayList<>(present.length);
+        for (Annotation annotation : present) {
+            if (annotation != null) {
+                result.add(annotation);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public boolean isEmpty() {
+        return types.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return annotations().toString();
+    }
+
+    private int indexOf(Class<?> annotationType) {
+        Class<?>[] types = this.types;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == annotationType) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Map<Class<?>, Slot> toSlots() {
+        Map<Class<?>, Slot> slots = new LinkedHashMap<>();
+        for (int i = 0; i < types.length; i++) {
+            slots.put(types[i], slotAt(i));
+        }
+        return slots;
+    }
+
+    private Slot slotAt(int index) {
+        Slot slot = new Slot();
+        slot.present = present[index];
+        for (Object annotation : byType[index]) {
+            if (annotation != slot.present) {
+                slot.contained.add((Annotation) annotation);
+            }
+        }
+        return slot;
+    }
+
+    private static AnnotationSet build(Map<Class<?>, Slot> slots) {
+        int size = slots.size();
+        Class<?>[] types = new Class<?>[size];
+        Annotation[] present = new Annotation[size];
+        List<?>[] byType = new List<?>[size];
+        int i = 0;
+        for (Map.Entry<Class<?>, Slot> entry : slots.entrySet()) {
+            Slot slot = entry.getValue();
+            types[i] = entry.getKey();
+            present[i] = slot.present;
+            byType[i] = slot.all();
+            i++;
+        }
+        return new AnnotationSet(types, present, byType);
+    }
+
+    private static Annotation[] elementsOf(Annotation container, Method value) {
+        try {
+            return (Annotation[]) value.invoke(container);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось прочитать контейнер " + container.annotationType().getName(), e);
+        }
+    }
+
+    private static Method containerValue(Class<?> annotationType) {
+        Method value;
+        try {
+            value = annotationType.getDeclaredMethod("value");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        Class<?> returnType = value.getReturnType();
+        if (!returnType.isArray() || !returnType.getComponentType().isAnnotation()) {
+            return null;
+        }
+        Repeatable repeatable = returnType.getComponentType().getAnnotation(Repeatable.class);
+        if (repeatable == null || repeatable.value() != annotationType) {
+            return null;
+        }
+        // Тип аннотации может быть непубличным
+        value.setAccessible(true);
+        return value;
+    }
+
+    private static final class Slot {
+        Annotation present;
+        final List<Annotation> contained = new ArrayList<>(2);
+
+        List<Annotation> all() {
+            List<Annotation> all = new ArrayList<>(contained.size() + 1);
+            if (present != null) {
+                all.add(present);
+            }
+            all.addAll(contained);
+            return List.copyOf(all);
+        }
+    }
+}
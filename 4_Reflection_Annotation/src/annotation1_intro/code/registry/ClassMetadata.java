@@ -0,0 +1,145 @@
+package annotation1_intro.code.registry;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Неизменяемые метаданные класса: аннотации класса с учетом {@link java.lang.annotation.Inherited}
+ * и аннотации его методов. Строится один раз на класс в {@link AnnotationRegistry}.
+ */
+public final class ClassMetadata {
+    private final Class<?> type;
+    private final AnnotationSet declaredAnnotations;
+    private final AnnotationSet annotations;
+    private final MethodMetadata[] methods;
+    // Перегрузки по имени: поиск метода не перебирает все методы класса
+    private final Map<String, MethodMetadata[]> methodsByName;
+
+    // Сбрасывается первым учтенным обращением; по нему реестр отличает промах от попадания
+    final AtomicBoolean fresh = new AtomicBoolean(true);
+
+    ClassMetadata(Class<?> type, ClassMetadata parent) {
+        this.type = type;
+        this.declaredAnnotations = AnnotationSet.of(type.getDeclaredAnnotations());
+        this.annotations = parent == null
+                ? declaredAnnotations
+                : declaredAnnotations.inherit(parent.annotations);
+        this.methods = resolveMethods(type);
+        this.methodsByName = indexByName(methods);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    // Аннотации класса, включая унаследованные от суперклассов
+    public AnnotationSet getAnnotations() {
+        return annotations;
+    }
+
+    public AnnotationSet getDeclaredAnnotations() {
+        return declaredAnnotations;
+    }
+
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        return annotations.get(annotationType);
+    }
+
+    public <A extends Annotation> List<A> getAnnotationsByType(Class<A> annotationType) {
+        return annotations.getByType(annotationType);
+    }
+
+    // Аналог getMethod/getDeclaredMethod; null, если метода нет
+    public MethodMetadata getMethod(String name, Class<?>... parameterTypes) {
+        MethodMetadata[] overloads = methodsByName.get(name);
+        if (overloads != null) {
+            for (MethodMetadata method : overloads) {
+                if (method.matches(parameterTypes)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Метод без параметров: без пустого массива, который создается на каждый вызов с varargs
+    public MethodMetadata getMethod(String name) {
+        MethodMetadata[] overloads = methodsByName.get(name);
+        if (overloads != null) {
+            for (MethodMetadata method : overloads) {
+                if (method.getParameterCount() == 0) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    public List<MethodMetadata> getMethods() {
+        return List.of(methods);
+    }
+
+    // Методы, на которых есть хотя бы одна аннотация типа (в том числе внутри контейнера)
+    public List<MethodMetadata> getMethodsAnnotatedWith(Class<? extends Annotation> annotationType) {
+        List<MethodMetadata> result = new ArrayList<>();
+        for (MethodMetadata method : methods) {
+            if (!method.getAnnotationsByType(annotationType).isEmpty()) {
+                result.add(method);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public String toString() {
+        return type.getName() + annotations;
+    }
+
+    // Публичные методы (с унаследованными) и собственные непубличные; bridge-методы - только если другого нет
+    private static MethodMetadata[] resolveMethods(Class<?> type) {
+        Map<String, MethodMetadata> methods = new LinkedHashMap<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (!method.isBridge() && !method.isSynthetic()) {
+                methods.put(signature(method), new MethodMetadata(method));
+            }
+        }
+        for (Method method : type.getMethods()) {
+            if (!method.isBridge()) {
+                methods.putIfAbsent(signature(method), new MethodMetadata(method));
+            }
+        }
+        // Мосты видимости: публичные методы непубличного суперкласса (StringBuilder.length)
+        // getMethods возвращает только в виде bridge-методов
+        for (Method method : type.getMethods()) {
+            if (method.isBridge()) {
+                methods.putIfAbsent(signature(method), new MethodMetadata(method));
+            }
+        }
+        return methods.values().toArray(new MethodMetadata[0]);
+    }
+
+    private static Map<String, MethodMetadata[]> indexByName(MethodMetadata[] methods) {
+        Map<String, List<MethodMetadata>> grouped = new HashMap<>();
+        for (MethodMetadata method : methods) {
+            grouped.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+        }
+        Map<String, MethodMetadata[]> index = new HashMap<>();
+        grouped.forEach((name, overloads) -> index.put(name, overloads.toArray(new MethodMetadata[0])));
+        return index;
+    }
+
+    private static String signature(Method method) {
+        StringBuilder signature = new StringBuilder(method.getName()).append('(');
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            signature.append(parameterType.getName()).append(',');
+        }
+        return signature.append(')').toString();
+    }
+}
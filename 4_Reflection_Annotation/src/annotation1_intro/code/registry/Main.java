@@ -0,0 +1,50 @@
+package annotation1_intro.code.registry;
+
+import annotation1_intro.code.inherited.MyAnnotation;
+import annotation1_intro.code.inherited.SubClass;
+import annotation1_intro.code.repeatable.Schedule;
+import annotation1_intro.code.repeatable.Schedules;
+import annotation1_intro.code.repeatable.Worker;
+
+import java.lang.reflect.Method;
+
+public class Main {
+    private static final int LOOKUPS = 1_000_000;
+
+    public static void main(String[] args) throws NoSuchMethodException {
+        // Метаданные разрешаются заранее, при старте приложения
+        AnnotationRegistry.setStatsEnabled(true);
+        AnnotationRegistry.warmUp(Worker.class, SubClass.class);
+
+        // Повторяющиеся аннотации: и элементы, и сам контейнер
+        MethodMetadata work = AnnotationRegistry.get(Worker.class).getMethod("work");
+        for (Schedule schedule : work.getAnnotationsByType(Schedule.class)) {
+            System.out.println("День работы: " + schedule.day());
+        }
+        System.out.println("Контейнер: " + work.getAnnotation(Schedules.class));
+
+        // @Inherited: аннотация базового класса видна у наследника
+        MyAnnotation annotation = AnnotationRegistry.getAnnotation(SubClass.class, MyAnnotation.class);
+        System.out.println("Аннотация унаследована: " + (annotation == null ? "нет" : annotation.value()));
+        System.out.println(AnnotationRegistry.stats());
+        AnnotationRegistry.setStatsEnabled(false); // замер ниже идет без счетчиков
+
+        // Сравнение с прямыми вызовами рефлексии на каждый запрос
+        long start = System.nanoTime();
+        int days = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            Method method = Worker.class.getMethod("work");
+            days += method.getAnnotationsByType(Schedule.class).length;
+        }
+        long reflection = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            days += AnnotationRegistry.get(Worker.class).getMethod("work").getAnnotationsByType(Schedule.class).size();
+        }
+        long registry = System.nanoTime() - start;
+
+        System.out.println("Рефлексия: " + reflection / LOOKUPS + " нс/запрос, реестр: "
+                + registry / LOOKUPS + " нс/запрос (" + days + ")");
+    }
+}
@@ -0,0 +1,55 @@
+package annotation1_intro.code.registry;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Метаданные одного метода: сам метод, его параметры и разрешенные аннотации.
+ */
+public final class MethodMetadata {
+    private final Method method;
+    private final Class<?>[] parameterTypes; // Копия из Method, чтобы не клонировать при каждом поиске
+    private final AnnotationSet annotations;
+
+    MethodMetadata(Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.annotations = AnnotationSet.of(method.getDeclaredAnnotations());
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getName() {
+        return method.getName();
+    }
+
+    public AnnotationSet getAnnotations() {
+        return annotations;
+    }
+
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        return annotations.get(annotationType);
+    }
+
+    public <A extends Annotation> List<A> getAnnotationsByType(Class<A> annotationType) {
+        return annotations.getByType(annotationType);
+    }
+
+    int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    // Имя уже совпало при поиске по индексу класса, сравниваются только параметры
+    boolean matches(Class<?>[] parameterTypes) {
+        return Arrays.equals(this.parameterTypes, parameterTypes);
+    }
+
+    @Override
+    public String toString() {
+        return method.getName() + annotations;
+    }
+}
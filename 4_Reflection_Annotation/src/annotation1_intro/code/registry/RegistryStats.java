@@ -0,0 +1,55 @@
+package annotation1_intro.code.registry;
+
+/**
+ * Снимок статистики реестра метаданных.
+ */
+public final class RegistryStats {
+    private final long hits;
+    private final long misses;
+    private final long precomputed;
+    private final long resolved;
+    private final long resolveNanos;
+
+    RegistryStats(long hits, long misses, long precomputed, long resolved, long resolveNanos) {
+        this.hits = hits;
+        this.misses = misses;
+        this.precomputed = precomputed;
+        this.resolved = resolved;
+        this.resolveNanos = resolveNanos;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    // Обращения, которым пришлось разрешать метаданные класса
+    public long getMisses() {
+        return misses;
+    }
+
+    // Классы, разрешенные заранее через warmUp
+    public long getPrecomputed() {
+        return precomputed;
+    }
+
+    // Всего разрешенных классов, включая суперклассы, разобранные ради @Inherited
+    public long getResolved() {
+        return resolved;
+    }
+
+    public long getResolveNanos() {
+        return resolveNanos;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", precomputed=" + precomputed
+                + ", resolved=" + resolved + ", resolveTime=" + resolveNanos / 1_000 + "us"
+                + ", hitRate=" + String.format("%.2f", getHitRate());
+    }
+}
@@ -1,8 +1,11 @@
 package annotation1_intro.code.repeatable;
 
 import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 
 @Repeatable(Schedules.class)
+@Retention(RetentionPolicy.RUNTIME)
 public @interface Schedule {
     String day();
 }
@@ -0,0 +1,65 @@
+package annotation1_intro.code.scheduler;
+
+import annotation1_intro.code.repeatable.Worker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class Main {
+    public static void main(String[] args) throws InterruptedException {
+        // Виртуальное время: 2023-12-31 — воскресенье
+        VirtualClock clock = new VirtualClock(Instant.parse("2023-12-31T00:00:00Z"), ZoneOffset.UTC);
+
+        // Задания выполняются прямо в вызывающем потоке, поэтому результат детерминирован
+        try (ScheduleRunner runner = new ScheduleRunner(clock, Runnable::run)) {
+            List<ScheduledJob> jobs = runner.register(new Worker());
+            for (int day = 0; day < 14; day++) {
+                int fired = runner.runDue();
+                System.out.println(clock.instant() + ": запусков " + fired);
+                clock.advance(Duration.ofDays(1));
+            }
+            for (ScheduledJob job : jobs) {
+                System.out.println(job.getName() + " выполнено " + job.getRuns() + " раз");
+            }
+        }
+
+        // Много разовых заданий: вставка и отмена за O(1), половина отменяется
+        VirtualClock bulkClock = new VirtualClock(Instant.EPOCH, ZoneOffset.UTC);
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try (WheelScheduler scheduler = new WheelScheduler(bulkClock, executor)) {
+            int count = 1_000_000;
+            ScheduledJob[] bulk = new ScheduledJob[count];
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                bulk[i] = scheduler.schedule("job-" + i, () -> { }, 1 + (i * 7919L) % 3_600_000);
+            }
+            for (int i = 0; i < count; i += 2) {
+                bulk[i].cancel();
+            }
+            long scheduled = System.nanoTime() - start;
+            bulkClock.advance(Duration.ofHours(1));
+            start = System.nanoTime();
+            int fired = scheduler.runDue();
+            long run = System.nanoTime() - start;
+            System.out.println("Вставка и отмена: " + scheduled / count + " нс/задание, выполнено "
+                    + fired + " за " + run / 1_000_000 + " мс, в колесе " + scheduler.size());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // Реальное время: задание через 100 мс на системных часах
+        try (WheelScheduler scheduler = new WheelScheduler(Clock.systemUTC(), Runnable::run)) {
+            scheduler.start();
+            ScheduledJob job = scheduler.schedule("hello", () -> System.out.println("Сработало"), 100);
+            Thread.sleep(300);
+            System.out.println(job.getName() + " выполнено " + job.getRuns() + " раз");
+        }
+    }
+}
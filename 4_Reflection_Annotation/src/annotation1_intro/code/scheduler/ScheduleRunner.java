@@ -0,0 +1,140 @@
+package annotation1_intro.code.scheduler;
+
+import annotation1_intro.code.registry.AnnotationRegistry;
+import annotation1_intro.code.registry.MethodMetadata;
+import annotation1_intro.code.repeatable.Schedule;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Запускает методы, помеченные {@link Schedule}, в начале указанного дня недели.
+ * <p>
+ * Методы находятся через {@link AnnotationRegistry} (включая повторяющиеся аннотации), для каждого
+ * один раз готовится {@link MethodHandle}, а каждая аннотация становится еженедельным заданием
+ * в {@link WheelScheduler}.
+ */
+public class ScheduleRunner implements AutoCloseable {
+    private static final MethodType JOB_TYPE = MethodType.methodType(void.class);
+    private static final Map<String, DayOfWeek> DAYS = new HashMap<>();
+
+    static {
+        String[] names = {"понедельник", "вторник", "среда", "четверг", "пятница", "суббота", "воскресенье"};
+        for (DayOfWeek day : DayOfWeek.values()) {
+            DAYS.put(names[day.ordinal()], day);
+            DAYS.put(day.name().toLowerCase(Locale.ROOT), day);
+        }
+    }
+
+    private final WheelScheduler scheduler;
+
+    public ScheduleRunner(Clock clock, Executor executor) {
+        this.scheduler = new WheelScheduler(clock, executor);
+    }
+
+    public WheelScheduler getScheduler() {
+        return scheduler;
+    }
+
+    // Задания для всех @Schedule-методов объекта; статические методы вызываются без него
+    public List<ScheduledJob> register(Object target) {
+        List<ScheduledJob> jobs = new ArrayList<>();
+        for (MethodMetadata metadata : AnnotationRegistry.get(target.getClass()).getMethodsAnnotatedWith(Schedule.class)) {
+            Method method = metadata.getMethod();
+            MethodHandle handle = resolve(method, target);
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            for (Schedule schedule : metadata.getAnnotationsByType(Schedule.class)) {
+                jobs.add(weekly(name + "[" + schedule.day() + "]", invoker(handle), parseDay(schedule.day())));
+            }
+        }
+        return Collections.unmodifiableList(jobs);
+    }
+
+    // Еженедельное задание в 00:00 дня day по часовому поясу часов
+    public ScheduledJob weekly(String name, Runnable action, DayOfWeek day) {
+        Clock clock = scheduler.getClock();
+        ZoneId zone = clock.getZone();
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime first = now.with(TemporalAdjusters.nextOrSame(day)).truncatedTo(ChronoUnit.DAYS);
+        if (first.isBefore(now)) {
+            first = first.plusWeeks(1);
+        }
+        // Через ZonedDateTime, чтобы переход на летнее время не сдвигал срабатывание
+        LongUnaryOperator nextWeek = millis -> ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), zone)
+                .plusWeeks(1).toInstant().toEpochMilli();
+        return scheduler.scheduleAt(name, action, first.toInstant().toEpochMilli(), nextWeek);
+    }
+
+    public int runDue() {
+        return scheduler.runDue();
+    }
+
+    public void start() {
+        scheduler.start();
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+
+    static DayOfWeek parseDay(String day) {
+        DayOfWeek result = DAYS.get(day.trim().toLowerCase(Locale.ROOT));
+        if (result == null) {
+            throw new IllegalArgumentException("Неизвестный день недели в @Schedule: " + day);
+        }
+        return result;
+    }
+
+    // Обработчик вида ()void, уже привязанный к объекту
+    private static MethodHandle resolve(Method method, Object target) {
+        if (method.getParameterCount() != 0) {
+            throw new IllegalArgumentException("Метод с @Schedule не должен иметь параметров: " + method);
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalArgumentException("Нет доступа к методу " + method, ex);
+            }
+        }
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(target);
+        }
+        return handle.asType(JOB_TYPE);
+    }
+
+    private static Runnable invoker(MethodHandle handle) {
+        return () -> {
+            try {
+                handle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+}
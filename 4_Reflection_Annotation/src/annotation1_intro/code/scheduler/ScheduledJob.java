@@ -0,0 +1,90 @@
+package annotation1_intro.code.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Задание в колесе таймеров.
+ * <p>
+ * Одновременно является узлом двусвязного списка корзины, поэтому вставка и отмена не требуют
+ * поиска и выполняются за O(1).
+ */
+public final class ScheduledJob {
+    private final String name;
+    private final Runnable action;
+    private final LongUnaryOperator next; // Следующий срок по текущему; null для разового задания
+    private final WheelScheduler scheduler;
+
+    // Поля ниже изменяются только под блокировкой планировщика
+    long expiration;
+    TimerBucket bucket;
+    ScheduledJob prev;
+    ScheduledJob nextInBucket;
+    boolean cancelled;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Throwable lastError;
+
+    ScheduledJob(String name, Runnable action, long expiration, LongUnaryOperator next, WheelScheduler scheduler) {
+        this.name = name;
+        this.action = action;
+        this.expiration = expiration;
+        this.next = next;
+        this.scheduler = scheduler;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Время ближайшего срабатывания в миллисекундах от эпохи
+    public long getExpiration() {
+        return scheduler.expirationOf(this);
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    public boolean isRepeating() {
+        return next != null;
+    }
+
+    public boolean isCancelled() {
+        return scheduler.isCancelled(this);
+    }
+
+    // Отменяет задание; уже переданный исполнителю запуск не прерывается
+    public boolean cancel() {
+        return scheduler.cancel(this);
+    }
+
+    long nextExpiration() {
+        return next.applyAsLong(expiration);
+    }
+
+    // Запуск на потоке исполнителя: ошибки задания не должны ломать планировщик
+    void run() {
+        try {
+            action.run();
+            runs.incrementAndGet();
+        } catch (Throwable t) {
+            failures.incrementAndGet();
+            lastError = t;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + "@" + expiration;
+    }
+}
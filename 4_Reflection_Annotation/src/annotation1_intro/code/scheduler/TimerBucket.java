@@ -0,0 +1,59 @@
+package annotation1_intro.code.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Ячейка колеса: двусвязный список заданий с общим сроком.
+ * Используется только под блокировкой планировщика.
+ */
+final class TimerBucket {
+    private final ScheduledJob root = new ScheduledJob("root", null, -1, null, null);
+    private long expiration = -1;
+
+    TimerBucket() {
+        root.prev = root;
+        root.nextInBucket = root;
+    }
+
+    long getExpiration() {
+        return expiration;
+    }
+
+    // true, если срок изменился и корзину нужно заново поставить в очередь
+    boolean setExpiration(long expiration) {
+        if (this.expiration == expiration) {
+            return false;
+        }
+        this.expiration = expiration;
+        return true;
+    }
+
+    void add(ScheduledJob job) {
+        ScheduledJob tail = root.prev;
+        job.nextInBucket = root;
+        job.prev = tail;
+        job.bucket = this;
+        tail.nextInBucket = job;
+        root.prev = job;
+    }
+
+    void remove(ScheduledJob job) {
+        job.prev.nextInBucket = job.nextInBucket;
+        job.nextInBucket.prev = job.prev;
+        job.prev = null;
+        job.nextInBucket = null;
+        job.bucket = null;
+    }
+
+    // Извлекает все задания; они либо выполняются, либо переходят на нижний уровень колеса
+    void flush(Consumer<ScheduledJob> consumer) {
+        ScheduledJob job = root.nextInBucket;
+        while (job != root) {
+            ScheduledJob next = job.nextInBucket;
+            remove(job);
+            consumer.accept(job);
+            job = next;
+        }
+        expiration = -1;
+    }
+}
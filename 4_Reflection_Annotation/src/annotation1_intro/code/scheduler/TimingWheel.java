@@ -0,0 +1,66 @@
+package annotation1_intro.code.scheduler;
+
+import java.util.Queue;
+
+/**
+ * Один уровень иерархического колеса таймеров.
+ * <p>
+ * Срок, не помещающийся в оборот этого уровня, передается следующему уровню с тиком, равным
+ * обороту текущего. Непустые корзины всех уровней стоят в общей очереди по сроку: корзин не
+ * больше wheelSize на уровень, поэтому ее размер не зависит от числа заданий.
+ */
+final class TimingWheel {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long interval;
+    private final TimerBucket[] buckets;
+    private final Queue<TimerBucket> queue;
+    private long currentTime; // Кратно tickMillis
+    private TimingWheel overflow;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis, Queue<TimerBucket> queue) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.interval = tickMillis * wheelSize;
+        this.buckets = new TimerBucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerBucket();
+        }
+        this.queue = queue;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    // false, если срок уже наступил и задание нужно выполнить сразу
+    boolean add(ScheduledJob job) {
+        long expiration = job.expiration;
+        if (expiration < currentTime + tickMillis) {
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = Math.floorDiv(expiration, tickMillis);
+            TimerBucket bucket = buckets[(int) Math.floorMod(virtualId, (long) wheelSize)];
+            bucket.add(job);
+            if (bucket.setExpiration(virtualId * tickMillis)) {
+                queue.add(bucket);
+            }
+            return true;
+        }
+        return overflow().add(job);
+    }
+
+    void advanceClock(long timeMillis) {
+        if (timeMillis >= currentTime + tickMillis) {
+            currentTime = timeMillis - Math.floorMod(timeMillis, tickMillis);
+            if (overflow != null) {
+                overflow.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel overflow() {
+        if (overflow == null) {
+            overflow = new TimingWheel(interval, wheelSize, currentTime, queue);
+        }
+        return overflow;
+    }
+}
@@ -0,0 +1,65 @@
+package annotation1_intro.code.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Часы, время которых меняется только явно. Позволяют проверять расписание без ожидания.
+ */
+public final class VirtualClock extends Clock {
+    private final ZoneId zone;
+    private volatile long millis;
+
+    public VirtualClock(Instant start, ZoneId zone) {
+        this.millis = start.toEpochMilli();
+        this.zone = zone;
+    }
+
+    private VirtualClock(long millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    public synchronized void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Время не может идти назад: " + duration);
+        }
+        millis += duration.toMillis();
+    }
+
+    public synchronized void setInstant(Instant instant) {
+        long target = instant.toEpochMilli();
+        if (target < millis) {
+            throw new IllegalArgumentException("Время не может идти назад: " + instant);
+        }
+        millis = target;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Копия с другим часовым поясом, время у копии дальше идет независимо
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new VirtualClock(millis, zone);
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualClock[" + instant() + ", " + zone + "]";
+    }
+}
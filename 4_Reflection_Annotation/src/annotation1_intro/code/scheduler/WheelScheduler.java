@@ -0,0 +1,257 @@
+package annotation1_intro.code.scheduler;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Планировщик на иерархическом колесе таймеров.
+ * <p>
+ * Время берется из {@link Clock}: с {@link VirtualClock} срабатывания происходят только при
+ * явном вызове {@link #runDue()}, что делает планировщик детерминированным. С системными часами
+ * {@link #start()} запускает поток, который спит до срока ближайшей корзины.
+ * Задания выполняются на переданном {@link Executor}.
+ */
+public class WheelScheduler implements AutoCloseable {
+    public static final long DEFAULT_TICK_MILLIS = 1;
+    public static final int DEFAULT_WHEEL_SIZE = 64;
+
+    private final Clock clock;
+    private final Executor executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<TimerBucket> queue =
+            new PriorityQueue<>(Comparator.comparingLong(TimerBucket::getExpiration));
+    private final TimingWheel wheel;
+
+    private int size;
+    private Thread timer;
+    private boolean closed;
+
+    public WheelScheduler(Clock clock, Executor executor) {
+        this(clock, executor, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    public WheelScheduler(Clock clock, Executor executor, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Некорректные параметры колеса: tick=" + tickMillis + ", size=" + wheelSize);
+        }
+        this.clock = clock;
+        this.executor = executor;
+        this.wheel = new TimingWheel(tickMillis, wheelSize, clock.millis(), queue);
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    // Разовое задание через delayMillis от текущего времени часов
+    public ScheduledJob schedule(String name, Runnable action, long delayMillis) {
+        return scheduleAt(name, action, clock.millis() + delayMillis, null);
+    }
+
+    // Задание со сроком atMillis; next вычисляет следующий срок по текущему, null — без повторов
+    public ScheduledJob scheduleAt(String name, Runnable action, long atMillis, LongUnaryOperator next) {
+        ScheduledJob job = new ScheduledJob(name, action, atMillis, next, this);
+        List<ScheduledJob> due = null;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Планировщик закрыт");
+            }
+            if (!insert(job)) {
+                due = new ArrayList<>(1);
+                collectDue(job, clock.millis(), due);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (due != null) {
+            dispatch(due);
+        }
+        return job;
+    }
+
+    /**
+     * Выполняет все задания со сроком не позже текущего времени часов.
+     * Повторяющееся задание, пропустившее несколько сроков, выполняется за каждый из них.
+     *
+     * @return число переданных исполнителю запусков
+     */
+    public int runDue() {
+        List<ScheduledJob> due = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = clock.millis();
+            TimerBucket bucket;
+            while ((bucket = queue.peek()) != null && bucket.getExpiration() <= now) {
+                queue.poll();
+                wheel.advanceClock(bucket.getExpiration());
+                bucket.flush(job -> {
+                    size--;
+                    if (!insert(job)) {
+                        collectDue(job, now, due);
+                    }
+                });
+            }
+            wheel.advanceClock(now);
+        } finally {
+            lock.unlock();
+        }
+        dispatch(due);
+        return due.size();
+    }
+
+    // Число заданий в колесе
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Фоновый поток для работы в реальном времени
+    public void start() {
+        lock.lock();
+        try {
+            if (timer != null || closed) {
+                return;
+            }
+            timer = new Thread(this::timerLoop, "wheel-scheduler");
+            timer.setDaemon(true);
+            timer.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread thread;
+        lock.lock();
+        try {
+            closed = true;
+            thread = timer;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean cancel(ScheduledJob job) {
+        lock.lock();
+        try {
+            if (job.cancelled) {
+                return false;
+            }
+            job.cancelled = true;
+            if (job.bucket != null) {
+                job.bucket.remove(job);
+                size--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isCancelled(ScheduledJob job) {
+        lock.lock();
+        try {
+            return job.cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long expirationOf(ScheduledJob job) {
+        lock.lock();
+        try {
+            return job.expiration;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Кладет задание в колесо; false, если срок уже наступил
+    private boolean insert(ScheduledJob job) {
+        if (job.cancelled) {
+            return true;
+        }
+        if (!wheel.add(job)) {
+            return false;
+        }
+        size++;
+        // Новая ближайшая корзина: фоновому потоку нужно пересчитать время сна
+        if (timer != null && queue.peek() == job.bucket) {
+            changed.signalAll();
+        }
+        return true;
+    }
+
+    // Наступивший срок: запуск и, для повторяющегося задания, постановка следующего срока
+    private void collectDue(ScheduledJob job, long now, List<ScheduledJob> due) {
+        while (true) {
+            due.add(job);
+            if (!job.isRepeating()) {
+                return;
+            }
+            long next = job.nextExpiration();
+            if (next <= job.expiration) {
+                throw new IllegalStateException("Следующий срок задания " + job.getName() + " не позже текущего");
+            }
+            job.expiration = next;
+            if (next > now && insert(job)) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<ScheduledJob> due) {
+        for (ScheduledJob job : due) {
+            executor.execute(job::run);
+        }
+    }
+
+    private void timerLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                TimerBucket head = queue.peek();
+                long delay = head == null ? Long.MAX_VALUE : head.getExpiration() - clock.millis();
+                if (delay > 0) {
+                    if (head == null) {
+                        changed.await();
+                    } else {
+                        changed.await(delay, TimeUnit.MILLISECONDS);
+                    }
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            runDue();
+        }
+    }
+}
@@ -1,32 +1,206 @@
 package annotation2_runtime.code;
 
-import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
-public class DIContainer {
+public class DIContainer implements InjectionPlan.InstanceSource {
+    // План внедрения строится один раз для каждого класса
+    private final ConcurrentMap<Class<?>, InjectionPlan<?>> plans = new ConcurrentHashMap<>();
+
+    // Синглтоны: первый поток кладет future и создает объект, остальные ждут только этот ключ
+    private final ConcurrentMap<Class<?>, CompletableFuture<Object>> singletons = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Map<Class<?>, Object>> threadScoped = ThreadLocal.withInitial(HashMap::new);
 
     public <T> T getInstance(Class<T> clazz) throws Exception {
-        return createInstance(clazz);
+        return instanceOf(planFor(clazz));
+    }
+
+    /**
+     * Заранее создает синглтоны из графа зависимостей указанных классов.
+     * Независимые бины создаются параллельно, волнами в топологическом порядке:
+     * в волну попадают бины, все зависимости-синглтоны которых созданы в предыдущих волнах.
+     */
+    public StartupReport start(Class<?>... beanTypes) throws Exception {
+        return start(ForkJoinPool.commonPool(), beanTypes);
     }
 
-    private <T> T createInstance(Class<T> clazz) throws Exception {
-        // Создаем новый экземпляр класса
-        T instance = clazz.getDeclaredConstructor().newInstance();
+    public StartupReport start(Executor executor, Class<?>... beanTypes) throws Exception {
+        long startedAt = System.nanoTime();
 
-        // Инъекция зависимостей в поля, помеченные @Inject
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                // Получаем тип поля
-                Class<?> fieldType = field.getType();
+        Map<InjectionPlan<?>, Integer> waveOf = new IdentityHashMap<>();
+        Map<InjectionPlan<?>, Integer> readyAfter = new IdentityHashMap<>();
+        for (Class<?> type : beanTypes) {
+            readyAfter(planFor(type), waveOf, readyAfter);
+        }
 
-                // Рекурсивно создаем экземпляр зависимости
-                Object dependency = createInstance(fieldType);
+        List<List<InjectionPlan<?>>> waves = new ArrayList<>();
+        waveOf.forEach((plan, wave) -> {
+            while (waves.size() <= wave) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(plan);
+        });
 
-                // Устанавливаем значение поля
-                field.setAccessible(true);
-                field.set(instance, dependency);
+        List<StartupReport.BeanTiming> timings = new ArrayList<>();
+        for (int wave = 0; wave < waves.size(); wave++) {
+            List<CompletableFuture<StartupReport.BeanTiming>> tasks = new ArrayList<>();
+            for (InjectionPlan<?> plan : waves.get(wave)) {
+                int waveNumber = wave;
+                tasks.add(CompletableFuture.supplyAsync(() -> createTimed(plan, waveNumber), executor));
+            }
+            try {
+                CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw e;
+            }
+            for (CompletableFuture<StartupReport.BeanTiming> task : tasks) {
+                timings.add(task.join());
             }
         }
-        return instance;
+        return new StartupReport(timings, waves.size(), System.nanoTime() - startedAt);
+    }
+
+    private StartupReport.BeanTiming createTimed(InjectionPlan<?> plan, int wave) {
+        long start = System.nanoTime();
+        try {
+            singleton(plan);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        return new StartupReport.BeanTiming(plan.type(), wave, System.nanoTime() - start);
+    }
+
+    // Номер волны, после которой план можно создать без ожидания: для синглтона - его волна + 1,
+    // для prototype/thread - максимум по зависимостям (они создаются внутри зависящего бина)
+    private int readyAfter(InjectionPlan<?> plan, Map<InjectionPlan<?>, Integer> waveOf,
+                           Map<InjectionPlan<?>, Integer> readyAfter) {
+        Integer known = readyAfter.get(plan);
+        if (known != null) {
+            return known;
+        }
+        int wave = 0;
+        for (InjectionPlan<?> dependency : plan.dependencies()) {
+            wave = Math.max(wave, readyAfter(dependency, waveOf, readyAfter));
+        }
+        int ready = wave;
+        if (plan.scope() == ScopeType.SINGLETON) {
+            waveOf.put(plan, wave);
+            ready = wave + 1;
+        }
+        readyAfter.put(plan, ready);
+        return ready;
+    }
+
+    @Override
+    public <T> T instanceOf(InjectionPlan<T> plan) throws Exception {
+        switch (plan.scope()) {
+            case PROTOTYPE:
+                return createInstance(plan);
+            case THREAD:
+                return threadInstance(plan);
+            default:
+                return singleton(plan);
+        }
+    }
+
+    private <T> T createInstance(InjectionPlan<T> plan) throws Exception {
+        // Создаем экземпляр по готовому плану: конструктор и поля, помеченные @Inject
+        return plan.create(this);
     }
-}
 
+    private <T> T singleton(InjectionPlan<T> plan) throws Exception {
+        Class<T> type = plan.type();
+        CompletableFuture<Object> future = singletons.get(type);
+        if (future == null) {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            future = singletons.putIfAbsent(type, created);
+            if (future == null) {
+                // Этот поток выиграл гонку и единственный создает экземпляр
+                try {
+                    T instance = createInstance(plan);
+                    created.complete(instance);
+                    return instance;
+                } catch (Exception | Error e) {
+                    singletons.remove(type, created); // следующий запрос попробует снова
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return type.cast(future.join());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> T threadInstance(InjectionPlan<T> plan) throws Exception {
+        Map<Class<?>, Object> instances = threadScoped.get();
+        Object instance = instances.get(plan.type());
+        if (instance == null) {
+            instance = createInstance(plan);
+            instances.put(plan.type(), instance);
+        }
+        return plan.type().cast(instance);
+    }
+
+    // Готовый план берется из кэша без создания PlanBuilder
+    @SuppressWarnings("unchecked")
+    private <T> InjectionPlan<T> planFor(Class<T> clazz) throws ReflectiveOperationException {
+        InjectionPlan<?> plan = plans.get(clazz);
+        if (plan != null) {
+            return (InjectionPlan<T>) plan;
+        }
+        return new PlanBuilder().planFor(clazz);
+    }
+
+    // Строит планы рекурсивно, отслеживая текущий путь, чтобы сообщить о цикле вместо переполнения стека
+    private final class PlanBuilder implements InjectionPlan.PlanResolver {
+        private final Deque<Class<?>> path = new ArrayDeque<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> InjectionPlan<T> planFor(Class<T> clazz) throws ReflectiveOperationException {
+            InjectionPlan<?> plan = plans.get(clazz);
+            if (plan != null) {
+                return (InjectionPlan<T>) plan;
+            }
+            if (path.contains(clazz)) {
+                List<Class<?>> visited = new ArrayList<>(path);
+                List<Class<?>> cycle = new ArrayList<>(visited.subList(visited.indexOf(clazz), visited.size()));
+                cycle.add(clazz);
+                throw new DependencyCycleException(cycle);
+            }
+
+            path.addLast(clazz);
+            try {
+                // Строим план вне computeIfAbsent: он рекурсивно запрашивает планы зависимостей
+                plan = InjectionPlan.build(clazz, this);
+            } finally {
+                path.removeLast();
+            }
+            InjectionPlan<?> existing = plans.putIfAbsent(clazz, plan);
+            return (InjectionPlan<T>) (existing != null ? existing : plan);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package annotation2_runtime.code;
+
+import java.lang.reflect.Field;
+
+/**
+ * Сравнение пропускной способности DIContainer.getInstance с исходной реализацией,
+ * которая на каждый вызов заново сканирует поля через рефлексию. Для честного сравнения
+ * граф собирается из prototype-классов; синглтон показан отдельно.
+ * <p>
+ * Простая замена JMH-бенчмарку (в проекте нет сборки с зависимостями): прогрев,
+ * затем несколько замеров подряд. Запуск: {@code java annotation2_runtime.code.DIContainerBenchmark}
+ */
+public class DIContainerBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 5;
+    private static final int OPERATIONS = 1_000_000;
+
+    // Результат, который не дает JIT выбросить создание объектов
+    private static int sink;
+
+    public static void main(String[] args) throws Exception {
+        DIContainer container = new DIContainer();
+
+        run("reflection (до)", () -> reflectiveCreate(PrototypeClient.class));
+        run("injection plan (после)", () -> container.getInstance(PrototypeClient.class));
+        run("singleton", () -> container.getInstance(Client.class));
+    }
+
+    private static void run(String name, Resolution resolution) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(resolution);
+        }
+        double best = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            best = Math.max(best, measure(resolution));
+        }
+        System.out.printf("%-24s %,14.0f ops/s%n", name, best);
+    }
+
+    private static double measure(Resolution resolution) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += System.identityHashCode(resolution.resolve()) & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        return OPERATIONS * 1e9 / elapsed;
+    }
+
+    // Исходный алгоритм DIContainer: рефлексия на каждом уровне при каждом вызове
+    private static <T> T reflectiveCreate(Class<T> clazz) throws Exception {
+        T instance = clazz.getDeclaredConstructor().newInstance();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                Object dependency = reflectiveCreate(field.getType());
+                field.setAccessible(true);
+                field.set(instance, dependency);
+            }
+        }
+        return instance;
+    }
+
+    @Scope(ScopeType.PROTOTYPE)
+    static class PrototypeService {
+    }
+
+    @Scope(ScopeType.PROTOTYPE)
+    static class PrototypeClient {
+        @Inject
+        private PrototypeService service;
+    }
+
+    @FunctionalInterface
+    private interface Resolution {
+        Object resolve() throws Exception;
+    }
+}
@@ -0,0 +1,17 @@
+package annotation2_runtime.code;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Циклическая зависимость между классами; в сообщении - путь цикла.
+ */
+public class DependencyCycleException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    public DependencyCycleException(List<Class<?>> path) {
+        super("Циклическая зависимость: " + path.stream()
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(" -> ")));
+    }
+}
@@ -0,0 +1,143 @@
+package annotation2_runtime.code;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Неизменяемый план создания экземпляра класса: область видимости, конструктор без аргументов
+ * и поля с {@link Inject} вместе с планами их зависимостей.
+ * <p>
+ * Рефлексия (поиск полей, проверка аннотаций, открытие доступа) выполняется один раз
+ * при построении плана; создание экземпляра - только вызовы MethodHandle. Если для класса
+ * на этапе компиляции сгенерирована {@link GeneratedFactory}, план использует ее и поля
+ * не сканируются вовсе.
+ */
+final class InjectionPlan<T> {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final ScopeType scope;
+    private final MethodHandle constructor;
+    private final FieldInjection[] injections;
+    private final GeneratedFactory<T> factory;
+    private final InjectionPlan<?>[] factoryDependencies;
+
+    private InjectionPlan(Class<T> type, MethodHandle constructor, FieldInjection[] injections,
+                          GeneratedFactory<T> factory, InjectionPlan<?>[] factoryDependencies) {
+        Scope scope = type.getAnnotation(Scope.class);
+        this.type = type;
+        this.scope = scope != null ? scope.value() : ScopeType.SINGLETON;
+        this.constructor = constructor;
+        this.injections = injections;
+        this.factory = factory;
+        this.factoryDependencies = factoryDependencies;
+    }
+
+    Class<T> type() {
+        return type;
+    }
+
+    ScopeType scope() {
+        return scope;
+    }
+
+    // Планы прямых зависимостей (ребра графа зависимостей)
+    List<InjectionPlan<?>> dependencies() {
+        if (factory != null) {
+            return List.of(factoryDependencies);
+        }
+        List<InjectionPlan<?>> dependencies = new ArrayList<>(injections.length);
+        for (FieldInjection injection : injections) {
+            dependencies.add(injection.dependency);
+        }
+        return dependencies;
+    }
+
+    static <T> InjectionPlan<T> build(Class<T> type, PlanResolver resolver) throws ReflectiveOperationException {
+        GeneratedFactory<T> factory = findFactory(type);
+        if (factory != null) {
+            Class<?>[] dependencies = factory.dependencies();
+            InjectionPlan<?>[] dependencyPlans = new InjectionPlan<?>[dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencyPlans[i] = resolver.planFor(dependencies[i]);
+            }
+            return new InjectionPlan<>(type, null, null, factory, dependencyPlans);
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                .asType(CONSTRUCTOR_TYPE);
+
+        List<FieldInjection> injections = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                VarHandle handle = lookup.unreflectVarHandle(field);
+                MethodHandle setter = handle.toMethodHandle(VarHandle.AccessMode.SET).asType(SETTER_TYPE);
+                injections.add(new FieldInjection(setter, resolver.planFor(field.getType())));
+            }
+        }
+        return new InjectionPlan<>(type, constructor, injections.toArray(new FieldInjection[0]), null, null);
+    }
+
+    // Фабрика, сгенерированная процессором аннотаций, или null
+    @SuppressWarnings("unchecked")
+    private static <T> GeneratedFactory<T> findFactory(Class<T> type) throws ReflectiveOperationException {
+        Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(type.getName() + GeneratedFactory.SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        return (GeneratedFactory<T>) factoryClass.getDeclaredConstructor().newInstance();
+    }
+
+    // Создает новый экземпляр; зависимости берутся у контейнера с учетом их областей видимости
+    T create(InstanceSource source) throws Exception {
+        if (factory != null) {
+            T instance = factory.newInstance();
+            Object[] dependencies = new Object[factoryDependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = source.instanceOf(factoryDependencies[i]);
+            }
+            factory.inject(instance, dependencies);
+            return instance;
+        }
+        try {
+            Object instance = constructor.invokeExact();
+            for (FieldInjection injection : injections) {
+                injection.setter.invokeExact(instance, (Object) source.instanceOf(injection.dependency));
+            }
+            return type.cast(instance);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new Exception(t);
+        }
+    }
+
+    // Источник планов для зависимостей (контейнер с его кэшем)
+    interface PlanResolver {
+        <D> InjectionPlan<D> planFor(Class<D> type) throws ReflectiveOperationException;
+    }
+
+    // Источник экземпляров зависимостей
+    interface InstanceSource {
+        <D> D instanceOf(InjectionPlan<D> plan) throws Exception;
+    }
+
+    private static final class FieldInjection {
+        final MethodHandle setter;
+        final InjectionPlan<?> dependency;
+
+        FieldInjection(MethodHandle setter, InjectionPlan<?> dependency) {
+            this.setter = setter;
+            this.dependency = dependency;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package annotation2_runtime.code;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Область видимости класса в {@link DIContainer}. Без аннотации класс - синглтон.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Scope {
+    ScopeType value();
+}
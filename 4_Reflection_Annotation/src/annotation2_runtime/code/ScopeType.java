@@ -0,0 +1,10 @@
+package annotation2_runtime.code;
+
+/**
+ * Время жизни экземпляров, создаваемых контейнером.
+ */
+public enum ScopeType {
+    SINGLETON, // один экземпляр на контейнер
+    PROTOTYPE, // новый экземпляр при каждом запросе
+    THREAD     // один экземпляр на поток
+}
@@ -0,0 +1,77 @@
+package annotation2_runtime.code;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Результат {@link DIContainer#start}: время создания каждого синглтона и номер волны,
+ * в которой он создавался. Позволяет увидеть, что замедляет запуск.
+ */
+public final class StartupReport {
+    private final List<BeanTiming> timings;
+    private final int waves;
+    private final long totalNanos;
+
+    StartupReport(List<BeanTiming> timings, int waves, long totalNanos) {
+        this.timings = List.copyOf(timings);
+        this.waves = waves;
+        this.totalNanos = totalNanos;
+    }
+
+    public List<BeanTiming> getTimings() {
+        return timings;
+    }
+
+    public int getWaves() {
+        return waves;
+    }
+
+    // Время запуска целиком (по часам, а не сумма времен бинов)
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // Бины, отсортированные по времени создания, самые медленные первыми
+    public List<BeanTiming> slowest() {
+        List<BeanTiming> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparingLong(BeanTiming::getNanos).reversed());
+        return sorted;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append(String.format("Запуск: %d бинов, %d волн, %.2f мс%n", timings.size(), waves, totalNanos / 1e6));
+        for (BeanTiming timing : slowest()) {
+            report.append(String.format("  волна %d  %10.3f мс  %s%n",
+                    timing.getWave(), timing.getNanos() / 1e6, timing.getType().getName()));
+        }
+        return report.toString();
+    }
+
+    public static final class BeanTiming {
+        private final Class<?> type;
+        private final int wave;
+        private final long nanos;
+
+        BeanTiming(Class<?> type, int wave, long nanos) {
+            this.type = type;
+            this.wave = wave;
+            this.nanos = nanos;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public int getWave() {
+            return wave;
+        }
+
+        // Время создания самого бина (его зависимости-синглтоны к этому моменту уже готовы)
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
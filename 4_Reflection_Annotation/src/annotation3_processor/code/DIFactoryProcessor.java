@@ -0,0 +1,254 @@
+package annotation3_processor.code;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Процессор аннотаций, который на этапе компиляции генерирует фабрики внедрения зависимостей
+ * вместо рефлексивного сканирования полей во время выполнения.
+ * <p>
+ * Для каждого класса с полями {@code @Inject} (annotation2_runtime) или {@code @Autowired}
+ * (reflect2_dynamic), а также для классов-зависимостей из той же компиляции, создается класс
+ * {@code <Класс>_InjectFactory} / {@code <Класс>_AutowiredFactory}, реализующий
+ * {@code GeneratedFactory} соответствующего пакета. Непубличные поля присваиваются напрямую,
+ * приватные - через {@code VarHandle}, найденный один раз при загрузке фабрики.
+ * Классы, для которых фабрику построить нельзя (нет доступного конструктора без аргументов,
+ * final-поле и т.п.), пропускаются с предупреждением - контейнер обработает их рефлексией.
+ * <p>
+ * Подключение: скомпилировать процессор, затем
+ * {@code javac -processorpath <классы процессора> -processor annotation3_processor.code.DIFactoryProcessor ...}
+ */
+@SupportedAnnotationTypes({"annotation2_runtime.code.Inject", "reflect2_dynamic.code.Autowired"})
+public class DIFactoryProcessor extends AbstractProcessor {
+    private static final String GENERATOR = DIFactoryProcessor.class.getName();
+
+    // Аннотация внедрения и интерфейс фабрики того же пакета
+    private static final String[][] TARGETS = {
+            {"annotation2_runtime.code.Inject", "annotation2_runtime.code.GeneratedFactory", "_InjectFactory"},
+            {"reflect2_dynamic.code.Autowired", "reflect2_dynamic.code.GeneratedFactory", "_AutowiredFactory"},
+    };
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> sourceTypes = new HashSet<>();
+        collectTypes(ElementFilter.typesIn(roundEnv.getRootElements()), sourceTypes);
+
+        for (String[] target : TARGETS) {
+            TypeElement annotation = elements.getTypeElement(target[0]);
+            if (annotation == null) {
+                continue;
+            }
+
+            // Поля с аннотацией, сгруппированные по классам
+            Map<TypeElement, List<VariableElement>> injections = new LinkedHashMap<>();
+            for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                injections.computeIfAbsent((TypeElement) field.getEnclosingElement(), t -> new ArrayList<>()).add(field);
+            }
+
+            // Зависимости без собственных полей тоже получают фабрику, если их исходники в этой компиляции
+            for (List<VariableElement> fields : new ArrayList<>(injections.values())) {
+                for (VariableElement field : fields) {
+                    TypeMirror type = types.erasure(field.asType());
+                    if (type.getKind() == TypeKind.DECLARED) {
+                        TypeElement dependency = (TypeElement) ((DeclaredType) type).asElement();
+                        if (sourceTypes.contains(dependency)) {
+                            injections.putIfAbsent(dependency, List.of());
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<TypeElement, List<VariableElement>> entry : injections.entrySet()) {
+                generate(entry.getKey(), entry.getValue(), target[1], target[2]);
+            }
+        }
+        return false;
+    }
+
+    private void collectTypes(Iterable<TypeElement> roots, Set<TypeElement> result) {
+        for (TypeElement type : roots) {
+            result.add(type);
+            collectTypes(ElementFilter.typesIn(type.getEnclosedElements()), result);
+        }
+    }
+
+    private void generate(TypeElement type, List<VariableElement> fields, String factoryInterface, String suffix) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String factoryName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + suffix;
+        String qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+        if (!generated.add(qualifiedFactoryName)) {
+            return;
+        }
+
+        String problem = unsupportedReason(type, fields);
+        if (problem != null) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "Фабрика для " + type.getQualifiedName() + " не создана (" + problem + "), будет использована рефлексия",
+                    type);
+            return;
+        }
+
+        String typeName = type.getQualifiedName().toString();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(GENERATOR).append("\")\n")
+                .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+                .append("public final class ").append(factoryName)
+                .append(" implements ").append(factoryInterface).append('<').append(typeName).append("> {\n");
+
+        // Приватные поля доступны только через VarHandle; он ищется один раз при загрузке фабрики
+        boolean hasPrivate = false;
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                hasPrivate = true;
+                source.append("    private static final java.lang.invoke.VarHandle ")
+                        .append(handleName(field)).append(";\n");
+            }
+        }
+        if (hasPrivate) {
+            source.append("\n    static {\n")
+                    .append("        try {\n")
+                    .append("            java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles")
+                    .append(".privateLookupIn(").append(typeName).append(".class, java.lang.invoke.MethodHandles.lookup());\n");
+            for (VariableElement field : fields) {
+                if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                    source.append("            ").append(handleName(field)).append(" = lookup.findVarHandle(")
+                            .append(typeName).append(".class, \"").append(field.getSimpleName()).append("\", ")
+                            .append(erasure(field)).append(".class);\n");
+                }
+            }
+            source.append("        } catch (ReflectiveOperationException e) {\n")
+                    .append("            throw new ExceptionInInitializerError(e);\n")
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+
+        source.append("\n    private static final Class<?>[] DEPENDENCIES = {");
+        for (int i = 0; i < fields.size(); i++) {
+            source.append(i > 0 ? ", " : "").append(erasure(fields.get(i))).append(".class");
+        }
+        source.append("};\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?>[] dependencies() {\n")
+                .append("        return DEPENDENCIES.clone();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(typeName).append(" newInstance() {\n")
+                .append("        return new ").append(typeName).append("();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void inject(").append(typeName).append(" instance, Object[] dependencies) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String value = "(" + erasure(field) + ") dependencies[" + i + "]";
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                source.append("        ").append(handleName(field)).append(".set(instance, ").append(value).append(");\n");
+            } else {
+                source.append("        instance.").append(field.getSimpleName()).append(" = ").append(value).append(";\n");
+            }
+        }
+        source.append("    }\n")
+                .append("}\n");
+
+        try (Writer writer = filer.createSourceFile(qualifiedFactoryName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Не удалось записать " + qualifiedFactoryName + ": " + e, type);
+        }
+    }
+
+    // Причина, по которой фабрику нельзя сгенерировать, или null
+    private String unsupportedReason(TypeElement type, List<VariableElement> fields) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "не конкретный класс";
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            TypeElement current = (TypeElement) enclosing;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return "приватный класс";
+            }
+            if (current.getNestingKind() == NestingKind.MEMBER && !current.getModifiers().contains(Modifier.STATIC)
+                    || current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return "внутренний, локальный или анонимный класс";
+            }
+        }
+        boolean hasConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                hasConstructor = true;
+            }
+        }
+        if (!hasConstructor) {
+            return "нет непубличного или публичного конструктора без аргументов";
+        }
+        for (VariableElement field : fields) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+                return "поле " + field.getSimpleName() + " static или final";
+            }
+            if (field.asType().getKind() != TypeKind.DECLARED) {
+                return "поле " + field.getSimpleName() + " не объектного типа";
+            }
+        }
+        return null;
+    }
+
+    private String erasure(VariableElement field) {
+        return types.erasure(field.asType()).toString();
+    }
+
+    private static String handleName(VariableElement field) {
+        return "FIELD_" + field.getSimpleName(); // без смены регистра: поля url и URL не совпадут
+    }
+}
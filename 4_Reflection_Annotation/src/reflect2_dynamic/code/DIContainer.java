@@ -1,19 +1,163 @@
 package reflect2_dynamic.code;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class DIContainer {
+    // Синглтоны: первый поток кладет future и создает объект, остальные ждут только этот ключ
+    private static final ConcurrentMap<Class<?>, CompletableFuture<Object>> SINGLETONS = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Map<Class<?>, Object>> THREAD_SCOPED = ThreadLocal.withInitial(HashMap::new);
+
+    // Классы, граф зависимостей которых уже проверен на циклы
+    private static final Set<Class<?>> ACYCLIC = ConcurrentHashMap.newKeySet();
+
+    // Фабрики, сгенерированные процессором аннотаций (ищутся один раз на класс)
+    private static final ClassValue<Optional<GeneratedFactory<?>>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Optional<GeneratedFactory<?>> computeValue(Class<?> type) {
+            try {
+                Class<?> factoryClass = Class.forName(type.getName() + GeneratedFactory.SUFFIX, true,
+                        type.getClassLoader());
+                return Optional.of((GeneratedFactory<?>) factoryClass.getDeclaredConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Не удалось создать фабрику для " + type.getName(), e);
+            }
+        }
+    };
+
     public static void initialize(Object object) throws Exception {
         Class<?> clazz = object.getClass();
+        GeneratedFactory<Object> factory = factoryFor(clazz);
+        if (factory != null) {
+            // Внедрение без рефлексии: поля известны с этапа компиляции
+            Class<?>[] types = factory.dependencies();
+            Object[] dependencies = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                dependencies[i] = getBean(types[i]);
+            }
+            factory.inject(object, dependencies);
+            return;
+        }
         for (Field field : clazz.getDeclaredFields()) {
             if (field.isAnnotationPresent(Autowired.class)) {
                 Class<?> fieldType = field.getType();
                 System.out.println(fieldType);
-                Object dependency = fieldType.getDeclaredConstructor().newInstance();
+                Object dependency = getBean(fieldType);
                 field.setAccessible(true);
                 field.set(object, dependency);
             }
         }
     }
-}
 
+    // Экземпляр класса с учетом его области видимости (по умолчанию синглтон)
+    public static <T> T getBean(Class<T> clazz) throws Exception {
+        if (!ACYCLIC.contains(clazz)) {
+            checkCycles(clazz, new ArrayList<>());
+        }
+
+        Scope scope = clazz.getAnnotation(Scope.class);
+        ScopeType scopeType = scope != null ? scope.value() : ScopeType.SINGLETON;
+        switch (scopeType) {
+            case PROTOTYPE:
+                return create(clazz);
+            case THREAD:
+                return threadBean(clazz);
+            default:
+                return singleton(clazz);
+        }
+    }
+
+    private static <T> T create(Class<T> clazz) throws Exception {
+        GeneratedFactory<Object> factory = factoryFor(clazz);
+        T instance = factory != null
+                ? clazz.cast(factory.newInstance())
+                : clazz.getDeclaredConstructor().newInstance();
+        initialize(instance);
+        return instance;
+    }
+
+    private static <T> T singleton(Class<T> clazz) throws Exception {
+        CompletableFuture<Object> future = SINGLETONS.get(clazz);
+        if (future == null) {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            future = SINGLETONS.putIfAbsent(clazz, created);
+            if (future == null) {
+                // Этот поток выиграл гонку и единственный создает экземпляр
+                try {
+                    T instance = create(clazz);
+                    created.complete(instance);
+                    return instance;
+                } catch (Exception | Error e) {
+                    SINGLETONS.remove(clazz, created); // следующий запрос попробует снова
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return clazz.cast(future.join());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> T threadBean(Class<T> clazz) throws Exception {
+        Map<Class<?>, Object> beans = THREAD_SCOPED.get();
+        Object bean = beans.get(clazz);
+        if (bean == null) {
+            bean = create(clazz);
+            beans.put(clazz, bean);
+        }
+        return clazz.cast(bean);
+    }
+
+    // Обход графа @Autowired до создания объектов: цикл сообщается путем, а не переполнением стека
+    // и не взаимной блокировкой потоков, ожидающих синглтоны друг друга
+    private static void checkCycles(Class<?> clazz, List<Class<?>> path) {
+        if (ACYCLIC.contains(clazz)) {
+            return;
+        }
+        int index = path.indexOf(clazz);
+        if (index >= 0) {
+            List<Class<?>> cycle = new ArrayList<>(path.subList(index, path.size()));
+            cycle.add(clazz);
+            throw new DependencyCycleException(cycle);
+        }
+        path.add(clazz);
+        GeneratedFactory<Object> factory = factoryFor(clazz);
+        if (factory != null) {
+            for (Class<?> dependency : factory.dependencies()) {
+                checkCycles(dependency, path);
+            }
+        } else {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    checkCycles(field.getType(), path);
+                }
+            }
+        }
+        path.remove(path.size() - 1);
+        ACYCLIC.add(clazz);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneratedFactory<Object> factoryFor(Class<?> clazz) {
+        return (GeneratedFactory<Object>) FACTORIES.get(clazz).orElse(null);
+    }
+}
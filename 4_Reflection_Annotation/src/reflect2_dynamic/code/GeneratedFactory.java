@@ -0,0 +1,19 @@
+package reflect2_dynamic.code;
+
+/**
+ * Фабрика, сгенерированная на этапе компиляции процессором
+ * {@code annotation3_processor.code.DIFactoryProcessor} для класса с полями {@link Autowired}.
+ * Класс фабрики называется {@code <Класс>_AutowiredFactory} и лежит в пакете класса.
+ * Если фабрики нет, контейнер использует рефлексию.
+ */
+public interface GeneratedFactory<T> {
+    // Суффикс имени сгенерированного класса
+    String SUFFIX = "_AutowiredFactory";
+
+    // Типы внедряемых полей в порядке, в котором их ожидает inject
+    Class<?>[] dependencies();
+
+    T newInstance();
+
+    void inject(T instance, Object[] dependencies);
+}
@@ -0,0 +1,292 @@
+package reflect3_proxy.code;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Асинхронный приемник лога.
+ * <p>
+ * Вызывающие потоки только кладут строку в кольцевой буфер без блокировок (несколько
+ * производителей, один потребитель). Фоновый поток забирает записи пачками, кодирует их
+ * в один {@link ByteBuffer} и отправляет одной записью в канал. Поэтому задержка вызова
+ * не зависит от скорости консоли или диска.
+ */
+public class AsyncLogSink implements LogSink, AutoCloseable {
+    /**
+     * Что делать, когда буфер заполнен.
+     */
+    public enum OverflowPolicy {
+        DROP,   // отбросить запись
+        BLOCK,  // ждать освобождения места
+        SAMPLE  // ждать только каждую N-ю запись, остальные отбросить
+    }
+
+    private static final byte NEW_LINE = '\n';
+
+    private final String[] buffer;
+    // Номер "круга" каждой ячейки: показывает, свободна она или уже заполнена (схема Вьюкова)
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // читается и пишется только фоновым потоком
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final ByteBuffer batch;
+    private int batchRecords; // записей в batch; только фоновый поток
+    private final int batchSize;
+    private final OverflowPolicy policy;
+    private final int sampleRate;
+
+    private final LongAdder dropped = new LongAdder();
+    // Счетчики входов в write() и выходов из него: по ним фоновый поток ждет производителей,
+    // успевших начать запись до закрытия
+    private final LongAdder entered = new LongAdder();
+    private final LongAdder exited = new LongAdder();
+    private final AtomicLong overflows = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    public AsyncLogSink(WritableByteChannel channel, boolean closeChannel, int capacity, int batchSize,
+                        OverflowPolicy policy, int sampleRate) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Емкость должна быть степенью двойки: " + capacity);
+        }
+        if (batchSize <= 0 || sampleRate <= 0) {
+            throw new IllegalArgumentException("batchSize и sampleRate должны быть положительными");
+        }
+        this.buffer = new String[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.batch = ByteBuffer.allocateDirect(64 * 1024);
+        this.batchSize = batchSize;
+        this.policy = policy;
+        this.sampleRate = sampleRate;
+
+        this.writer = new Thread(this::drainLoop, "async-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Вывод в stdout; сам дескриптор при закрытии не закрывается
+    public static AsyncLogSink toConsole(OverflowPolicy policy) {
+        return new AsyncLogSink(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), false,
+                8192, 256, policy, 100);
+    }
+
+    public static AsyncLogSink toFile(Path file, OverflowPolicy policy) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new AsyncLogSink(channel, true, 8192, 256, policy, 100);
+    }
+
+    @Override
+    public void write(String message) {
+        entered.increment();
+        try {
+            // Вход отмечен до проверки closed, поэтому запись либо будет дописана фоновым потоком,
+            // либо увидит закрытие и будет посчитана как отброшенная
+            if (closed) {
+                dropped.increment();
+                return;
+            }
+            enqueue(message);
+        } finally {
+            exited.increment();
+        }
+    }
+
+    private void enqueue(String message) {
+        if (offer(message)) {
+            wakeWriter();
+            return;
+        }
+
+        long overflow = overflows.incrementAndGet();
+        boolean wait = policy == OverflowPolicy.BLOCK
+                || policy == OverflowPolicy.SAMPLE && overflow % sampleRate == 0;
+        if (!wait) {
+            dropped.increment();
+            return;
+        }
+        while (!offer(message)) {
+            if (closed) {
+                dropped.increment();
+                return;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(10_000);
+        }
+        wakeWriter();
+    }
+
+    // Количество отброшенных записей
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    // Дописывает все принятые записи и останавливает фоновый поток; записи после закрытия отбрасываются
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closeChannel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private boolean offer(String message) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = message;
+                    sequences.set(index, position + 1); // публикуем запись для потребителя
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // буфер заполнен
+            } else {
+                position = tail.get(); // ячейку занял другой производитель
+            }
+        }
+    }
+
+    private String poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        String message = buffer[index];
+        buffer[index] = null;
+        sequences.set(index, head + buffer.length); // ячейка свободна для следующего круга
+        head++;
+        return message;
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            int drained = drainBatch();
+            if (drained > 0) {
+                continue;
+            }
+            if (closed) {
+                drainAfterClose();
+                return;
+            }
+            writerParked = true;
+            if (sequences.get((int) (head & mask)) != head + 1) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            writerParked = false;
+        }
+    }
+
+    // Ждет производителей, вошедших в write() до закрытия (продолжая разгружать буфер, чтобы
+    // ожидающие места при BLOCK не зависли), затем дописывает все до head == tail
+    private void drainAfterClose() {
+        while (!quiescent()) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        while (head != tail.get()) {
+            drainBatch();
+        }
+    }
+
+    // Выходы читаются раньше входов: каждый учтенный выход имеет учтенный вход, поэтому равенство
+    // сумм значит, что все вошедшие до закрытия производители уже вышли
+    private boolean quiescent() {
+        long exits = exited.sum();
+        return entered.sum() == exits;
+    }
+
+    private int drainBatch() {
+        int count = 0;
+        String message;
+        while (count < batchSize && (message = poll()) != null) {
+            append(message);
+            count++;
+        }
+        if (count > 0) {
+            flush();
+        }
+        return count;
+    }
+
+    private void append(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        if (batch.remaining() < bytes.length + 1) {
+            flush();
+        }
+        if (batch.remaining() < bytes.length + 1) {
+            // Запись больше всего буфера - пишем ее отдельно
+            if (writeFully(ByteBuffer.wrap(bytes), 1)) {
+                writeFully(ByteBuffer.wrap(new byte[]{NEW_LINE}), 1);
+            }
+            return;
+        }
+        batch.put(bytes).put(NEW_LINE);
+        batchRecords++;
+    }
+
+    private void flush() {
+        batch.flip();
+        writeFully(batch, batchRecords);
+        batch.clear();
+        batchRecords = 0;
+    }
+
+    // false, если вывод не удался; тогда records записей считаются отброшенными
+    private boolean writeFully(ByteBuffer bytes, int records) {
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            return true;
+        } catch (IOException e) {
+            // Ошибки вывода не должны ронять фоновый поток: теряем пачку и считаем все ее записи
+            dropped.add(records);
+            bytes.position(bytes.limit());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package reflect3_proxy.code;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ограниченный по размеру потокобезопасный кэш с вытеснением LRU и временем жизни записей.
+ * <p>
+ * Ключи распределяются по сегментам, у каждого свой {@link LinkedHashMap} в порядке доступа
+ * и своя блокировка, поэтому потоки конкурируют только внутри одного сегмента.
+ */
+public class BoundedCache<K, V> {
+    private final String name;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным: " + maxSize);
+        }
+        this.name = name;
+        int segmentCount = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2),
+                Integer.highestOneBit(maxSize));
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    // Значение по ключу или null, если записи нет или она истекла
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry;
+        segment.lock.lock();
+        try {
+            entry = segment.map.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                segment.map.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE;
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.put(key, new Entry<>(value, expiresAt));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.map.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    // Удаляет истекшие записи, не дожидаясь обращения к ним
+    public void cleanUp() {
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                Iterator<Entry<V>> iterator = segment.map.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isExpired(now)) {
+                        iterator.remove();
+                        evictions.increment();
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & segmentMask];
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package reflect3_proxy.code;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * После успешного вызова метода из указанных кэшей удаляется запись с теми же аргументами
+ * (например, {@code delete(id)} удаляет результат {@code findById(id)}) или все записи.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheEvict {
+    // Имена кэшей
+    String[] value();
+
+    // Очистить кэши целиком, а не только запись с аргументами вызова
+    boolean allEntries() default false;
+}
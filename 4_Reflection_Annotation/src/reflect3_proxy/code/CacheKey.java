@@ -0,0 +1,93 @@
+package reflect3_proxy.code;
+
+import java.util.Arrays;
+
+/**
+ * Ключи кэша по аргументам вызова.
+ * <p>
+ * Чтобы не создавать лишних объектов, единственный аргумент сам служит ключом,
+ * а два целочисленных аргумента одного класса упаковываются в один объект с полями {@code long}
+ * и этим классом: ключи (1, 1) и (1L, 1L) различаются, как и сами аргументы.
+ * Остальные комбинации хранятся как копия массива аргументов.
+ */
+final class CacheKey {
+    private static final Object NO_ARGUMENTS = new Object();
+    private static final Object NULL = new Object();
+
+    private CacheKey() {
+    }
+
+    static Object of(Object[] args) {
+        if (args.length == 0) {
+            return NO_ARGUMENTS;
+        }
+        if (args.length == 1) {
+            Object arg = args[0];
+            if (arg == null) {
+                return NULL;
+            }
+            return arg.getClass().isArray() ? new ArrayKey(new Object[]{arg}) : arg;
+        }
+        if (args.length == 2 && isIntegral(args[0]) && args[1] != null && args[0].getClass() == args[1].getClass()) {
+            return new LongPairKey(args[0].getClass(), toLong(args[0]), toLong(args[1]));
+        }
+        return new ArrayKey(args.clone());
+    }
+
+    private static boolean isIntegral(Object arg) {
+        return arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                || arg instanceof Byte || arg instanceof Character;
+    }
+
+    private static long toLong(Object arg) {
+        return arg instanceof Character ? (Character) arg : ((Number) arg).longValue();
+    }
+
+    private static final class LongPairKey {
+        private final Class<?> type;
+        private final long first;
+        private final long second;
+
+        LongPairKey(Class<?> type, long first, long second) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LongPairKey)) return false;
+            LongPairKey other = (LongPairKey) o;
+            return first == other.first && second == other.second && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(first * 31 + second);
+        }
+    }
+
+    private static final class ArrayKey {
+        private final Object[] args;
+        private final int hash;
+
+        ArrayKey(Object[] args) {
+            this.args = args;
+            this.hash = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ArrayKey)) return false;
+            ArrayKey other = (ArrayKey) o;
+            return hash == other.hash && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
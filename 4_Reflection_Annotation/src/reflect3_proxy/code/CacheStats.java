@@ -0,0 +1,52 @@
+package reflect3_proxy.code;
+
+/**
+ * Снимок статистики одного кэша.
+ */
+public final class CacheStats {
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    CacheStats(String name, long hits, long misses, long evictions, long size) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Записи, вытесненные по размеру или истекшие по TTL
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", size=" + size + ", hitRate=" + String.format("%.2f", getHitRate());
+    }
+}
@@ -0,0 +1,23 @@
+package reflect3_proxy.code;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Результат метода интерфейса кэшируется {@link CachingInterceptor} по значениям аргументов.
+ * Исключения не кэшируются.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+    // Имя кэша; по умолчанию "Интерфейс.метод(типы параметров)"
+    String value() default "";
+
+    // Максимальное число записей в кэше
+    int maxSize() default 10_000;
+
+    // Время жизни записи; 0 - без ограничения
+    long ttlMillis() default 0;
+}
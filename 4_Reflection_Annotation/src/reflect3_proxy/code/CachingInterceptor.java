@@ -0,0 +1,149 @@
+package reflect3_proxy.code;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Перехватчик, кэширующий результаты методов с {@link Cacheable}
+ * и очищающий кэши при вызове методов с {@link CacheEvict}.
+ * <p>
+ * Аннотации читаются с методов интерфейса один раз на метод. Кэши создаются по всем
+ * {@link Cacheable} интерфейса при первом обращении к любому его методу; объявления одного
+ * кэша с разными параметрами считаются ошибкой. Одновременные промахи по
+ * одному ключу могут вызвать метод несколько раз: кэш рассчитан на чистые функции
+ * и операции чтения, для которых это безопасно.
+ */
+public class CachingInterceptor implements Interceptor {
+    // Значение-заменитель для кэширования null
+    private static final Object NULL_RESULT = new Object();
+
+    private final ConcurrentMap<String, BoundedCache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Operation> operations = new ConcurrentHashMap<>();
+    // Объявление, по которому создан каждый кэш, и интерфейсы, чьи объявления уже учтены
+    private final Map<String, Cacheable> definitions = new HashMap<>();
+    private final Set<Class<?>> declaredTypes = new HashSet<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Operation operation = operationFor(invocation.getMethod());
+        if (operation.cache != null) {
+            Object key = CacheKey.of(invocation.getArguments());
+            Object cached = operation.cache.get(key);
+            if (cached != null) {
+                return cached == NULL_RESULT ? null : cached;
+            }
+            Object result = invocation.proceed();
+            operation.cache.put(key, result == null ? NULL_RESULT : result);
+            return result;
+        }
+
+        Object result = invocation.proceed();
+        if (operation.evicted != null) {
+            for (String name : operation.evicted) {
+                // Кэш может объявлять интерфейс, к которому еще не обращались: тогда очищать нечего
+                BoundedCache<Object, Object> cache = caches.get(name);
+                if (cache == null) {
+                    continue;
+                }
+                if (operation.allEntries) {
+                    cache.clear();
+                } else {
+                    cache.remove(CacheKey.of(invocation.getArguments()));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Статистика кэша по имени или null, если такого кэша еще нет
+    public CacheStats stats(String cacheName) {
+        BoundedCache<Object, Object> cache = caches.get(cacheName);
+        return cache == null ? null : cache.stats();
+    }
+
+    public List<CacheStats> stats() {
+        List<CacheStats> result = new ArrayList<>();
+        for (BoundedCache<Object, Object> cache : caches.values()) {
+            result.add(cache.stats());
+        }
+        return result;
+    }
+
+    private Operation operationFor(Method method) {
+        Operation operation = operations.get(method);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(method, this::resolve);
+        }
+        return operation;
+    }
+
+    private Operation resolve(Method method) {
+        declareCaches(method.getDeclaringClass());
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable != null) {
+            return new Operation(caches.get(cacheName(method, cacheable)), null, false);
+        }
+        CacheEvict evict = method.getAnnotation(CacheEvict.class);
+        if (evict != null) {
+            return new Operation(null, List.of(evict.value()), evict.allEntries());
+        }
+        return Operation.NONE;
+    }
+
+    // Создает кэши по всем @Cacheable интерфейса; один и тот же кэш должен везде объявляться одинаково
+    private synchronized void declareCaches(Class<?> type) {
+        if (declaredTypes.contains(type)) {
+            return;
+        }
+        for (Method method : type.getMethods()) {
+            Cacheable cacheable = method.getAnnotation(Cacheable.class);
+            if (cacheable == null) {
+                continue;
+            }
+            String name = cacheName(method, cacheable);
+            Cacheable defined = definitions.putIfAbsent(name, cacheable);
+            if (defined == null) {
+                caches.put(name, new BoundedCache<>(name, cacheable.maxSize(), cacheable.ttlMillis()));
+            } else if (defined.maxSize() != cacheable.maxSize() || defined.ttlMillis() != cacheable.ttlMillis()) {
+                throw new IllegalStateException("Кэш " + name + " объявлен с разными параметрами: "
+                        + defined + " и " + cacheable + " (" + method + ")");
+            }
+        }
+        declaredTypes.add(type);
+    }
+
+    // По умолчанию "Интерфейс.метод(типы)": у перегрузок разные кэши
+    private static String cacheName(Method method, Cacheable cacheable) {
+        if (!cacheable.value().isEmpty()) {
+            return cacheable.value();
+        }
+        StringBuilder name = new StringBuilder(method.getDeclaringClass().getSimpleName())
+                .append('.').append(method.getName()).append('(');
+        Class<?>[] parameters = method.getParameterTypes();
+        for (int i = 0; i < parameters.length; i++) {
+            name.append(i > 0 ? "," : "").append(parameters[i].getSimpleName());
+        }
+        return name.append(')').toString();
+    }
+
+    private static final class Operation {
+        static final Operation NONE = new Operation(null, null, false);
+
+        final BoundedCache<Object, Object> cache;
+        final List<String> evicted;
+        final boolean allEntries;
+
+        Operation(BoundedCache<Object, Object> cache, List<String> evicted, boolean allEntries) {
+            this.cache = cache;
+            this.evicted = evicted;
+            this.allEntries = allEntries;
+        }
+    }
+}
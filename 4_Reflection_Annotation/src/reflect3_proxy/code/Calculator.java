@@ -3,6 +3,11 @@ package reflect3_proxy.code;
 public interface Calculator {
     int add(int a, int b);
     int subtract(int a, int b);
+
+    // Чистые функции: результаты кэшируются, если к прокси подключен CachingInterceptor
+    @Cacheable
     int multiply(int a, int b);
+
+    @Cacheable
     double divide(int a, int b);
 }
@@ -0,0 +1,23 @@
+package reflect3_proxy.code;
+
+import java.lang.reflect.Method;
+
+/**
+ * Вызов сгенерированного прокси: цель вызывается через switch в самом прокси, без рефлексии.
+ */
+final class GeneratedInvocation extends Invocation {
+    private final GeneratedProxy proxy;
+    private final int methodIndex;
+
+    GeneratedInvocation(GeneratedProxy proxy, int methodIndex, Method method, Object target,
+                        Object[] args, Interceptor[] chain) {
+        super(method, target, args, chain);
+        this.proxy = proxy;
+        this.methodIndex = methodIndex;
+    }
+
+    @Override
+    protected Object invokeTarget() throws Throwable {
+        return proxy.invokeTarget(methodIndex, getArguments());
+    }
+}
@@ -0,0 +1,9 @@
+package reflect3_proxy.code;
+
+/**
+ * Служебный интерфейс сгенерированных прокси: вызов целевого метода по его номеру
+ * в конце цепочки перехватчиков.
+ */
+interface GeneratedProxy {
+    Object invokeTarget(int methodIndex, Object[] args) throws Throwable;
+}
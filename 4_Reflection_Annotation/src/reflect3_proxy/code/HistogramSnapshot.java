@@ -0,0 +1,70 @@
+package reflect3_proxy.code;
+
+/**
+ * Неизменяемый снимок {@link LatencyHistogram}. Снимки можно объединять,
+ * например, чтобы получить общие квантили по нескольким методам или узлам.
+ */
+public final class HistogramSnapshot {
+    private final long[] counts;
+    private final long totalCount;
+
+    HistogramSnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Значение, не меньше которого задержка у заданной доли вызовов (0..1);
+     * 0, если записей нет.
+     */
+    public long valueAtQuantile(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyHistogram.highestValueIn(i);
+            }
+        }
+        return LatencyHistogram.MAX_VALUE;
+    }
+
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return LatencyHistogram.highestValueIn(i);
+            }
+        }
+        return 0;
+    }
+
+    public double getMean() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            sum += (double) counts[i] * LatencyHistogram.highestValueIn(i);
+        }
+        return sum / totalCount;
+    }
+
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(merged);
+    }
+}
@@ -0,0 +1,10 @@
+package reflect3_proxy.code;
+
+/**
+ * Перехватчик вызовов прокси. Перехватчики образуют цепочку:
+ * каждый решает, вызывать ли {@link Invocation#proceed()} и что вернуть вызывающему.
+ */
+@FunctionalInterface
+public interface Interceptor {
+    Object intercept(Invocation invocation) throws Throwable;
+}
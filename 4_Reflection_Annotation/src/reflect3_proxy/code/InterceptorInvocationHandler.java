@@ -0,0 +1,39 @@
+package reflect3_proxy.code;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * Обработчик JDK-прокси, пропускающий каждый вызов через цепочку перехватчиков.
+ */
+public class InterceptorInvocationHandler implements InvocationHandler {
+    private final Object target;
+    private final Interceptor[] chain;
+
+    public InterceptorInvocationHandler(Object target, Interceptor... chain) {
+        this.target = target;
+        this.chain = chain.clone();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (chain.length == 0) {
+            return MethodDispatch.invoke(proxy.getClass(), method, target, args);
+        }
+        return new HandleInvocation(proxy.getClass(), method, target, args, chain).proceed();
+    }
+
+    private static final class HandleInvocation extends Invocation {
+        private final Class<?> proxyClass;
+
+        HandleInvocation(Class<?> proxyClass, Method method, Object target, Object[] args, Interceptor[] chain) {
+            super(method, target, args, chain);
+            this.proxyClass = proxyClass;
+        }
+
+        @Override
+        protected Object invokeTarget() throws Throwable {
+            return MethodDispatch.invoke(proxyClass, getMethod(), getTarget(), getArguments());
+        }
+    }
+}
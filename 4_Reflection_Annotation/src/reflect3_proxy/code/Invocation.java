@@ -0,0 +1,46 @@
+package reflect3_proxy.code;
+
+import java.lang.reflect.Method;
+
+/**
+ * Один вызов метода прокси, проходящий по цепочке перехватчиков.
+ * Объект одноразовый и не предназначен для использования из нескольких потоков.
+ */
+public abstract class Invocation {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Method method;
+    private final Object target;
+    private final Object[] arguments;
+    private final Interceptor[] chain;
+    private int position;
+
+    protected Invocation(Method method, Object target, Object[] arguments, Interceptor[] chain) {
+        this.method = method;
+        this.target = target;
+        this.arguments = arguments != null ? arguments : NO_ARGUMENTS;
+        this.chain = chain;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    // Передает вызов следующему перехватчику, а в конце цепочки - целевому объекту
+    public Object proceed() throws Throwable {
+        if (position < chain.length) {
+            return chain[position++].intercept(this);
+        }
+        return invokeTarget();
+    }
+
+    protected abstract Object invokeTarget() throws Throwable;
+}
@@ -0,0 +1,12 @@
+package reflect3_proxy.code;
+
+/**
+ * Приемник строк лога для {@link LoggingInvocationHandler}.
+ */
+@FunctionalInterface
+public interface LogSink {
+    // Синхронный вывод в консоль на потоке вызывающего
+    LogSink CONSOLE = System.out::println;
+
+    void write(String message);
+}
@@ -1,34 +1,131 @@
 package reflect3_proxy.code;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 
-public class LoggingInvocationHandler implements InvocationHandler {
+public class LoggingInvocationHandler implements InvocationHandler, Interceptor {
+    /**
+     * Способ вызова метода на целевом объекте.
+     */
+    public enum DispatchMode {
+        REFLECTION,    // Method.invoke на каждый вызов
+        METHOD_HANDLE  // MethodHandle, подготовленный один раз для прокси-класса
+    }
+
+    /**
+     * Уровень логирования: сообщения уровня выше установленного не строятся вовсе.
+     */
+    public enum LogLevel {
+        OFF,   // ничего не логируется
+        ERROR, // только исключения
+        INFO   // вызовы, результаты и исключения
+    }
+
     private final Object target; // Реальный объект, вызовы к которому будут перехватываться
+    private final DispatchMode dispatchMode;
+    private final LogLevel logLevel;
+    private final LogSink sink;
 
     public LoggingInvocationHandler(Object target) {
+        this(target, DispatchMode.REFLECTION, LogLevel.INFO);
+    }
+
+    // Только для использования в роли перехватчика: целевой объект берется из Invocation.
+    // Как InvocationHandler такой экземпляр бросает IllegalStateException при первом вызове
+    public LoggingInvocationHandler(LogLevel logLevel) {
+        this(logLevel, LogSink.CONSOLE);
+    }
+
+    public LoggingInvocationHandler(LogLevel logLevel, LogSink sink) {
+        this(null, DispatchMode.METHOD_HANDLE, logLevel, sink);
+    }
+
+    public LoggingInvocationHandler(Object target, DispatchMode dispatchMode, LogLevel logLevel) {
+        this(target, dispatchMode, logLevel, LogSink.CONSOLE);
+    }
+
+    public LoggingInvocationHandler(Object target, DispatchMode dispatchMode, LogLevel logLevel, LogSink sink) {
         this.target = target;
+        this.dispatchMode = dispatchMode;
+        this.logLevel = logLevel;
+        this.sink = sink;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (target == null) {
+            throw new IllegalStateException("Обработчик создан без целевого объекта и годится только как перехватчик "
+                    + "цепочки (Interceptor), а не как InvocationHandler прокси");
+        }
         // Логирование перед вызовом метода
-        System.out.println("Вызов метода: " + method.getName() + ", с аргументами: " + Arrays.toString(args));
+        logCall(method, args);
 
         Object result;
         try {
             // Вызов реального метода на целевом объекте
-            result = method.invoke(target, args);
-
-            // Логирование после успешного выполнения метода
-            System.out.println("Метод " + method.getName() + " выполнен успешно, результат: " + result);
+            result = dispatch(proxy, method, args);
         } catch (Throwable t) {
             // Логирование в случае исключения
-            System.out.println("Метод " + method.getName() + " выбросил исключение: " + t.getCause());
+            logFailure(method, t);
             throw t;
         }
 
+        // Логирование после успешного выполнения метода
+        logSuccess(method, result);
         return result;
     }
-}
\ No newline at end of file
+
+    // Тот же вызов в роли перехватчика цепочки (целевой объект берется из Invocation)
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        logCall(method, invocation.getArguments());
+
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable t) {
+            logFailure(method, t);
+            throw t;
+        }
+
+        logSuccess(method, result);
+        return result;
+    }
+
+    private Object dispatch(Object proxy, Method method, Object[] args) throws Throwable {
+        if (dispatchMode == DispatchMode.REFLECTION) {
+            return method.invoke(target, args);
+        }
+        return MethodDispatch.invoke(proxy.getClass(), method, target, args);
+    }
+
+    private void logCall(Method method, Object[] args) {
+        if (isEnabled(LogLevel.INFO)) {
+            log("Вызов метода: " + method.getName() + ", с аргументами: " + Arrays.toString(args));
+        }
+    }
+
+    private void logSuccess(Method method, Object result) {
+        if (isEnabled(LogLevel.INFO)) {
+            log("Метод " + method.getName() + " выполнен успешно, результат: " + result);
+        }
+    }
+
+    private void logFailure(Method method, Throwable t) {
+        if (isEnabled(LogLevel.ERROR)) {
+            Throwable cause = t instanceof InvocationTargetException ? t.getCause() : t;
+            log("Метод " + method.getName() + " выбросил исключение: " + cause);
+        }
+    }
+
+    private boolean isEnabled(LogLevel level) {
+        return level != LogLevel.OFF && logLevel.compareTo(level) >= 0;
+    }
+
+    private void log(String message) {
+        sink.write(message);
+    }
+}
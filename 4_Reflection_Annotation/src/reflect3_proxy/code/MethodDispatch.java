@@ -0,0 +1,68 @@
+package reflect3_proxy.code;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Кэш MethodHandle для вызова методов интерфейсов на целевом объекте.
+ * Методы разрешаются один раз для каждого прокси-класса.
+ */
+final class MethodDispatch {
+    // Единый тип всех подготовленных обработчиков: (target, args) -> result
+    private static final MethodType DISPATCH_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final ClassValue<Map<Method, MethodHandle>> HANDLES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> proxyClass) {
+            Map<Method, MethodHandle> handles = new HashMap<>();
+            for (Class<?> interfaceType : proxyClass.getInterfaces()) {
+                for (Method method : interfaceType.getMethods()) {
+                    handles.put(method, resolve(method));
+                }
+            }
+            // Прокси также перенаправляет в обработчик equals, hashCode и toString
+            for (Method method : Object.class.getMethods()) {
+                if (!Modifier.isFinal(method.getModifiers())) {
+                    handles.put(method, resolve(method));
+                }
+            }
+            return handles;
+        }
+    };
+
+    private MethodDispatch() {
+    }
+
+    // Вызов метода на целевом объекте через закэшированный MethodHandle
+    static Object invoke(Class<?> proxyClass, Method method, Object target, Object[] args) throws Throwable {
+        MethodHandle handle = HANDLES.get(proxyClass).get(method);
+        if (handle == null) {
+            // Метод не из интерфейсов прокси-класса (например, handler вызван напрямую)
+            handle = resolve(method);
+        }
+        return handle.invokeExact(target, args);
+    }
+
+    // Приводит метод к виду (Object target, Object[] args) -> Object
+    static MethodHandle resolve(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // Непубличный интерфейс: открываем доступ так же, как это делает Method.invoke
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalStateException("Нет доступа к методу " + method, ex);
+            }
+        }
+        return handle.asSpreader(Object[].class, method.getParameterCount()).asType(DISPATCH_TYPE);
+    }
+}
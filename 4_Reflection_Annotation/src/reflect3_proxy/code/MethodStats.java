@@ -0,0 +1,74 @@
+package reflect3_proxy.code;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Статистика одного метода прокси на момент снимка. Задержки в наносекундах.
+ * Используется и в API {@link MetricsInterceptor}, и как составной тип JMX.
+ */
+public final class MethodStats {
+    private final String method;
+    private final long calls;
+    private final long errors;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+    private final double mean;
+
+    @ConstructorProperties({"method", "calls", "errors", "p50", "p99", "p999", "max", "mean"})
+    public MethodStats(String method, long calls, long errors, long p50, long p99, long p999, long max, double mean) {
+        this.method = method;
+        this.calls = calls;
+        this.errors = errors;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.mean = mean;
+    }
+
+    static MethodStats of(String method, long calls, long errors, HistogramSnapshot latency) {
+        return new MethodStats(method, calls, errors,
+                latency.valueAtQuantile(0.5), latency.valueAtQuantile(0.99), latency.valueAtQuantile(0.999),
+                latency.getMax(), latency.getMean());
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public String toString() {
+        return method + ": calls=" + calls + ", errors=" + errors
+                + ", p50=" + p50 + "ns, p99=" + p99 + "ns, p999=" + p999 + "ns, max=" + max + "ns";
+    }
+}
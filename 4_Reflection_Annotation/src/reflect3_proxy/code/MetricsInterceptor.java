@@ -0,0 +1,109 @@
+package reflect3_proxy.code;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Перехватчик, собирающий по каждому методу интерфейса число вызовов, число ошибок
+ * и гистограмму задержек. Один экземпляр можно подключать к нескольким прокси.
+ */
+public class MetricsInterceptor implements Interceptor, MetricsMXBean {
+    private final ConcurrentMap<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MethodMetrics methodMetrics = metricsFor(invocation.getMethod());
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            methodMetrics.errors.increment();
+            throw t;
+        } finally {
+            methodMetrics.calls.increment();
+            methodMetrics.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    // Снимок статистики всех вызывавшихся методов
+    @Override
+    public List<MethodStats> getMethods() {
+        List<MethodStats> result = new ArrayList<>();
+        metrics.forEach((method, methodMetrics) -> result.add(methodMetrics.snapshot(method)));
+        result.sort(Comparator.comparing(MethodStats::getMethod));
+        return result;
+    }
+
+    @Override
+    public List<MethodStats> slowest(int limit) {
+        List<MethodStats> result = getMethods();
+        result.sort(Comparator.comparingLong(MethodStats::getP99).reversed());
+        return result.subList(0, Math.min(limit, result.size()));
+    }
+
+    // Общая гистограмма задержек по всем методам
+    public HistogramSnapshot totalLatency() {
+        HistogramSnapshot total = new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT]);
+        for (MethodMetrics methodMetrics : metrics.values()) {
+            total = total.merge(methodMetrics.latency.snapshot());
+        }
+        return total;
+    }
+
+    // Обнуляет счетчики на месте: вызовы, уже получившие MethodMetrics, продолжают писать в учитываемые объекты
+    @Override
+    public void reset() {
+        metrics.values().forEach(MethodMetrics::reset);
+    }
+
+    // Регистрирует перехватчик в платформенном MBeanServer как reflect3_proxy:type=ProxyMetrics,name=...
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("reflect3_proxy:type=ProxyMetrics,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    private MethodMetrics metricsFor(Method method) {
+        MethodMetrics methodMetrics = metrics.get(method);
+        if (methodMetrics == null) {
+            methodMetrics = metrics.computeIfAbsent(method, m -> new MethodMetrics());
+        }
+        return methodMetrics;
+    }
+
+    private static String describe(Method method) {
+        StringBuilder name = new StringBuilder(method.getDeclaringClass().getSimpleName())
+                .append('.').append(method.getName()).append('(');
+        Class<?>[] parameters = method.getParameterTypes();
+        for (int i = 0; i < parameters.length; i++) {
+            name.append(i > 0 ? "," : "").append(parameters[i].getSimpleName());
+        }
+        return name.append(')').toString();
+    }
+
+    private static final class MethodMetrics {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        MethodStats snapshot(Method method) {
+            return MethodStats.of(describe(method), calls.sum(), errors.sum(), latency.snapshot());
+        }
+
+        void reset() {
+            calls.reset();
+            errors.reset();
+            latency.reset();
+        }
+    }
+}
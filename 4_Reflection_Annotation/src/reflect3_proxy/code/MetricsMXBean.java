@@ -0,0 +1,15 @@
+package reflect3_proxy.code;
+
+import java.util.List;
+
+/**
+ * JMX-представление {@link MetricsInterceptor}.
+ */
+public interface MetricsMXBean {
+    List<MethodStats> getMethods();
+
+    // Самые медленные методы по p99
+    List<MethodStats> slowest(int limit);
+
+    void reset();
+}
@@ -0,0 +1,21 @@
+package reflect3_proxy.code;
+
+/**
+ * Способ построения прокси в {@link ProxyFactory}.
+ */
+public enum ProxyBackend {
+    /**
+     * {@code java.lang.reflect.Proxy}: массив аргументов и упаковка примитивов на каждый вызов.
+     */
+    JDK,
+
+    /**
+     * Класс прокси, сгенерированный во время выполнения и загруженный как hidden class.
+     * Методы вызывают целевой объект напрямую с примитивными сигнатурами; аргументы упаковываются
+     * только когда есть перехватчики (в том числе логирующий в {@link ProxyFactory#createProxy(Class, Object, ProxyBackend)}).
+     * Если сгенерировать класс нельзя (нет компилятора в среде выполнения, интерфейс не публичный или
+     * не виден загрузчику фабрики), используется {@link #JDK}; причина доступна через
+     * {@link ProxyFactory#getGeneratedFallbackReason(Class)}.
+     */
+    GENERATED
+}
@@ -0,0 +1,74 @@
+package reflect3_proxy.code;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Стоимость вызова через прокси для {@link ProxyBackend#JDK} и {@link ProxyBackend#GENERATED}:
+ * время и байты, выделенные на один вызов.
+ * <p>
+ * Главный случай — цепочка из {@link ProxyFactory#createProxy(Class, Object, ProxyBackend)}, то есть с
+ * логирующим перехватчиком (строки уходят в пустой приемник, чтобы не мерить консоль). Для сравнения
+ * тот же перехватчик на уровне ERROR (успешные вызовы не логируются) и пустая цепочка.
+ * Запуск: {@code java reflect3_proxy.code.ProxyBenchmark [вызовов]}.
+ */
+public class ProxyBenchmark {
+    private static final int WARMUP = 5;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Calculator target = new CalculatorImpl();
+        LogSink discard = message -> { };
+        String reason = ProxyFactory.getGeneratedFallbackReason(Calculator.class);
+        if (reason != null) {
+            System.out.println("GENERATED недоступен, будет JDK: " + reason);
+        }
+
+        System.out.println("Вызовов: " + calls);
+        measure("прямой вызов", target, calls);
+        for (ProxyBackend backend : ProxyBackend.values()) {
+            measure(backend + ", логирование INFO", ProxyFactory.createProxy(Calculator.class, target, backend,
+                    new LoggingInvocationHandler(LoggingInvocationHandler.LogLevel.INFO, discard)), calls);
+            measure(backend + ", логирование ERROR", ProxyFactory.createProxy(Calculator.class, target, backend,
+                    new LoggingInvocationHandler(LoggingInvocationHandler.LogLevel.ERROR, discard)), calls);
+            measure(backend + ", без перехватчиков",
+                    ProxyFactory.createProxy(Calculator.class, target, backend, new Interceptor[0]), calls);
+        }
+    }
+
+    private static void measure(String name, Calculator calculator, int calls) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += run(calculator, calls);
+
+        long best = Long.MAX_VALUE;
+        long bytes = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            sink += run(calculator, calls);
+            best = Math.min(best, System.nanoTime() - start);
+            bytes = Math.min(bytes, allocatedBytes() - allocatedBefore);
+        }
+        String allocation = bytes < 0 ? "н/д" : String.format("%.1f", (double) bytes / calls);
+        System.out.printf("%-35s %8.1f нс/вызов  %6s байт/вызов  (%d)%n",
+                name, (double) best / calls, allocation, sink);
+    }
+
+    private static long run(Calculator calculator, int calls) {
+        long sum = 0;
+        for (int i = 0; i < calls; i++) {
+            sum += calculator.add(i, 1);
+        }
+        return sum;
+    }
+
+    // Байты, выделенные текущим потоком, или отрицательное значение, если JVM этого не умеет
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
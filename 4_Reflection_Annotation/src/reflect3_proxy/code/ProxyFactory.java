@@ -1,14 +1,67 @@
 package reflect3_proxy.code;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 
 public class ProxyFactory {
-    @SuppressWarnings("unchecked")
+    // Способ построения прокси, когда он не указан явно
+    private static volatile ProxyBackend defaultBackend = ProxyBackend.JDK;
+
+    public static ProxyBackend getDefaultBackend() {
+        return defaultBackend;
+    }
+
+    public static void setDefaultBackend(ProxyBackend backend) {
+        defaultBackend = backend;
+    }
+
+    // Прокси с логированием вызовов
     public static <T> T createProxy(Class<T> interfaceType, T implementation) {
+        return createProxy(interfaceType, implementation, defaultBackend);
+    }
+
+    /**
+     * Прокси с логированием вызовов через выбранный механизм.
+     * <p>
+     * Логирование подключается перехватчиком, поэтому и в {@link ProxyBackend#GENERATED} каждый вызов
+     * идет через цепочку: массив аргументов, упаковка примитивов и объект вызова на каждый вызов.
+     * Без аллокаций работает только прокси с пустой цепочкой перехватчиков.
+     */
+    public static <T> T createProxy(Class<T> interfaceType, T implementation, ProxyBackend backend) {
+        if (backend == ProxyBackend.JDK) {
+            return newJdkProxy(interfaceType, new LoggingInvocationHandler(implementation));
+        }
+        return createProxy(interfaceType, implementation, backend,
+                new LoggingInvocationHandler(LoggingInvocationHandler.LogLevel.INFO));
+    }
+
+    // Прокси с произвольной цепочкой перехватчиков; пустая цепочка - прямое делегирование
+    public static <T> T createProxy(Class<T> interfaceType, T implementation, Interceptor... interceptors) {
+        return createProxy(interfaceType, implementation, defaultBackend, interceptors);
+    }
+
+    public static <T> T createProxy(Class<T> interfaceType, T implementation, ProxyBackend backend,
+                                    Interceptor... interceptors) {
+        if (backend == ProxyBackend.GENERATED) {
+            Object proxy = ProxyGenerator.newInstance(interfaceType, implementation, interceptors.clone());
+            if (proxy != null) {
+                return interfaceType.cast(proxy);
+            }
+        }
+        return newJdkProxy(interfaceType, new InterceptorInvocationHandler(implementation, interceptors));
+    }
+
+    // Почему вместо GENERATED используется JDK-прокси (с сообщениями javac); null, если класс сгенерирован
+    public static String getGeneratedFallbackReason(Class<?> interfaceType) {
+        return ProxyGenerator.failureReason(interfaceType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newJdkProxy(Class<T> interfaceType, InvocationHandler handler) {
         return (T) Proxy.newProxyInstance(
                 interfaceType.getClassLoader(),
                 new Class<?>[]{interfaceType},
-                new LoggingInvocationHandler(implementation)
+                handler
         );
     }
 }
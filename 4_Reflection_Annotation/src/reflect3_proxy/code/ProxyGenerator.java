@@ -0,0 +1,381 @@
+package reflect3_proxy.code;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Генератор прокси-классов для {@link ProxyBackend#GENERATED}.
+ * <p>
+ * Для интерфейса строится исходный код класса, который реализует каждый метод с его настоящей
+ * сигнатурой: без перехватчиков вызов идет напрямую в целевой объект, с перехватчиками -
+ * через {@link GeneratedInvocation}. Код компилируется в памяти и загружается как hidden class
+ * в пакете фабрики. Один класс генерируется на интерфейс и переиспользуется всеми прокси.
+ */
+final class ProxyGenerator {
+    private static final String PACKAGE = ProxyGenerator.class.getPackageName();
+
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(void.class, Object.class, Interceptor[].class, Method[].class);
+
+    private static final Map<Class<?>, String> WRAPPERS = Map.of(
+            boolean.class, "Boolean", byte.class, "Byte", char.class, "Character", short.class, "Short",
+            int.class, "Integer", long.class, "Long", float.class, "Float", double.class, "Double");
+
+    // Сгенерированный класс или причина, по которой генерация невозможна, для каждого интерфейса
+    private static final ClassValue<Generated> CLASSES = new ClassValue<>() {
+        @Override
+        protected Generated computeValue(Class<?> interfaceType) {
+            try {
+                return generate(interfaceType);
+            } catch (RuntimeException | ReflectiveOperationException e) {
+                return Generated.failed(e.toString());
+            }
+        }
+    };
+
+    private ProxyGenerator() {
+    }
+
+    /**
+     * Создает экземпляр сгенерированного прокси или возвращает null, если для интерфейса
+     * сгенерировать класс нельзя.
+     */
+    static Object newInstance(Class<?> interfaceType, Object target, Interceptor[] chain) {
+        Generated generated = CLASSES.get(interfaceType);
+        if (generated.constructor == null) {
+            return null;
+        }
+        try {
+            return generated.constructor.invoke(target, chain, generated.methods);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Не удалось создать прокси для " + interfaceType.getName(), t);
+        }
+    }
+
+    // Почему для интерфейса используется JDK-прокси; null, если класс сгенерирован
+    static String failureReason(Class<?> interfaceType) {
+        return CLASSES.get(interfaceType).failure;
+    }
+
+    private static Generated generate(Class<?> interfaceType) throws ReflectiveOperationException {
+        if (!isSupported(interfaceType)) {
+            return Generated.failed("Интерфейс не публичный или не виден загрузчику фабрики: " + interfaceType.getName());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            return Generated.failed("В среде выполнения нет компилятора javac");
+        }
+
+        Method[] methods = proxiedMethods(interfaceType);
+        String simpleName = interfaceType.getSimpleName() + "$GeneratedProxy";
+        String source = generateSource(interfaceType, simpleName, methods);
+        byte[] bytes = compile(compiler, interfaceType, PACKAGE + "." + simpleName, source);
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR_TYPE);
+        return new Generated(constructor, methods, null);
+    }
+
+    // Hidden class живет в пакете фабрики, поэтому интерфейс должен быть публичным и виден ее загрузчику
+    private static boolean isSupported(Class<?> interfaceType) {
+        if (!interfaceType.isInterface() || interfaceType.getCanonicalName() == null) {
+            return false;
+        }
+        for (Class<?> type = interfaceType; type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(interfaceType.getName(), false, ProxyGenerator.class.getClassLoader()) == interfaceType;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    // Методы интерфейса без статических и без переобъявленных методов Object
+    private static Method[] proxiedMethods(Class<?> interfaceType) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method method : interfaceType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            methods.putIfAbsent(method.getName() + List.of(method.getParameterTypes()), method);
+        }
+        return methods.values().toArray(new Method[0]);
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static String generateSource(Class<?> interfaceType, String simpleName, Method[] methods) {
+        String interfaceName = interfaceType.getCanonicalName();
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(PACKAGE).append(";\n\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("final class ").append(simpleName).append(" implements ")
+                .append(interfaceName).append(", GeneratedProxy {\n")
+                .append("    private final ").append(interfaceName).append(" target;\n")
+                .append("    private final Interceptor[] chain;\n")
+                .append("    private final java.lang.reflect.Method[] methods;\n\n")
+                .append("    ").append(simpleName)
+                .append("(Object target, Interceptor[] chain, java.lang.reflect.Method[] methods) {\n")
+                .append("        this.target = (").append(interfaceName).append(") target;\n")
+                .append("        this.chain = chain;\n")
+                .append("        this.methods = methods;\n")
+                .append("    }\n");
+
+        for (int i = 0; i < methods.length; i++) {
+            appendMethod(source, methods[i], i);
+        }
+
+        // Вызов цели по номеру метода в конце цепочки перехватчиков
+        source.append("\n    public Object invokeTarget(int methodIndex, Object[] args) throws Throwable {\n")
+                .append("        switch (methodIndex) {\n");
+        for (int i = 0; i < methods.length; i++) {
+            Method method = methods[i];
+            String call = "target." + method.getName() + "(" + unpackedArguments(method) + ")";
+            source.append("            case ").append(i).append(": ");
+            if (method.getReturnType() == void.class) {
+                source.append(call).append("; return null;\n");
+            } else {
+                source.append("return ").append(call).append(";\n");
+            }
+        }
+        source.append("            default: throw new IllegalArgumentException(\"Неизвестный метод: \" + methodIndex);\n")
+                .append("        }\n")
+                .append("    }\n");
+
+        // equals, hashCode и toString передаются цели, как и в JDK-прокси
+        source.append("\n    public boolean equals(Object other) { return target.equals(other); }\n")
+                .append("    public int hashCode() { return target.hashCode(); }\n")
+                .append("    public String toString() { return target.toString(); }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private static void appendMethod(StringBuilder source, Method method, int index) {
+        Class<?>[] parameters = method.getParameterTypes();
+        Class<?> returnType = method.getReturnType();
+
+        StringBuilder declaration = new StringBuilder();
+        StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                declaration.append(", ");
+                arguments.append(", ");
+            }
+            declaration.append(parameters[i].getCanonicalName()).append(" p").append(i);
+            arguments.append('p').append(i);
+        }
+
+        source.append("\n    public ").append(returnType.getCanonicalName()).append(' ')
+                .append(method.getName()).append('(').append(declaration).append(')');
+        Class<?>[] exceptions = method.getExceptionTypes();
+        if (exceptions.length > 0) {
+            source.append(" throws ");
+            for (int i = 0; i < exceptions.length; i++) {
+                source.append(i > 0 ? ", " : "").append(exceptions[i].getCanonicalName());
+            }
+        }
+        source.append(" {\n");
+
+        // Быстрый путь: перехватчиков нет, вызов с примитивными типами без аллокаций
+        String direct = "target." + method.getName() + "(" + arguments + ")";
+        source.append("        if (chain.length == 0) ");
+        if (returnType == void.class) {
+            source.append("{ ").append(direct).append("; return; }\n");
+        } else {
+            source.append("return ").append(direct).append(";\n");
+        }
+
+        String invocation = "new GeneratedInvocation(this, " + index + ", methods[" + index + "], target, "
+                + (parameters.length == 0 ? "null" : "new Object[]{" + arguments + "}") + ", chain).proceed()";
+        source.append("        try {\n");
+        if (returnType == void.class) {
+            source.append("            ").append(invocation).append(";\n");
+        } else if (returnType.isPrimitive()) {
+            source.append("            return ((").append(WRAPPERS.get(returnType)).append(") ")
+                    .append(invocation).append(").").append(returnType.getName()).append("Value();\n");
+        } else {
+            source.append("            return (").append(returnType.getCanonicalName()).append(") ")
+                    .append(invocation).append(";\n");
+        }
+        source.append("        } catch (RuntimeException | Error e) {\n")
+                .append("            throw e;\n");
+        boolean throwableDeclared = false;
+        for (Class<?> exception : rethrownExceptions(exceptions)) {
+            throwableDeclared |= exception == Throwable.class;
+            source.append("        } catch (").append(exception.getCanonicalName()).append(" e) {\n")
+                    .append("            throw e;\n");
+        }
+        if (!throwableDeclared) {
+            source.append("        } catch (Throwable t) {\n")
+                    .append("            throw new java.lang.reflect.UndeclaredThrowableException(t);\n");
+        }
+        source.append("        }\n")
+                .append("    }\n");
+    }
+
+    // Объявленные исключения, для которых нужен отдельный catch: без unchecked и без подтипов других
+    private static List<Class<?>> rethrownExceptions(Class<?>[] exceptions) {
+        List<Class<?>> result = new ArrayList<>();
+        for (Class<?> exception : exceptions) {
+            if (RuntimeException.class.isAssignableFrom(exception) || Error.class.isAssignableFrom(exception)) {
+                continue;
+            }
+            boolean covered = false;
+            for (Class<?> other : exceptions) {
+                if (other != exception && other.isAssignableFrom(exception)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered && !result.contains(exception)) {
+                result.add(exception);
+            }
+        }
+        // Более общий Exception/Throwable должен идти последним
+        result.sort((a, b) -> Boolean.compare(a.isAssignableFrom(RuntimeException.class),
+                b.isAssignableFrom(RuntimeException.class)));
+        return result;
+    }
+
+    private static String unpackedArguments(Method method) {
+        Class<?>[] parameters = method.getParameterTypes();
+        StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                arguments.append(", ");
+            }
+            String castType = parameters[i].isPrimitive()
+                    ? WRAPPERS.get(parameters[i])
+                    : parameters[i].getCanonicalName();
+            arguments.append('(').append(castType).append(") args[").append(i).append(']');
+        }
+        return arguments.toString();
+    }
+
+    // Сообщения javac при ошибке компиляции попадают в исключение и становятся причиной отказа
+    private static byte[] compile(JavaCompiler compiler, Class<?> interfaceType, String className, String source) {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, null, null);
+        InMemoryFileManager fileManager = new InMemoryFileManager(standard);
+
+        List<String> options = List.of("-classpath", classPath(interfaceType), "-proc:none", "-g:none");
+        JavaFileObject unit = new SourceFile(className, source);
+        boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, List.of(unit)).call();
+        if (!success) {
+            StringBuilder message = new StringBuilder("Не удалось скомпилировать ").append(className);
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                message.append("\n").append(diagnostic.getMessage(null));
+            }
+            throw new IllegalStateException(message.toString());
+        }
+        return fileManager.classes.get(className);
+    }
+
+    // Путь компиляции: classpath приложения плюс расположение фабрики и интерфейса
+    private static String classPath(Class<?> interfaceType) {
+        StringBuilder classPath = new StringBuilder(System.getProperty("java.class.path", ""));
+        for (Class<?> type : new Class<?>[]{ProxyGenerator.class, interfaceType}) {
+            CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                try {
+                    classPath.append(File.pathSeparator).append(new File(codeSource.getLocation().toURI()));
+                } catch (Exception ignored) {
+                    // Нефайловое расположение - полагаемся на java.class.path
+                }
+            }
+        }
+        return classPath.toString();
+    }
+
+    private static final class Generated {
+        final MethodHandle constructor; // null, если генерация невозможна
+        final Method[] methods;
+        final String failure;
+
+        Generated(MethodHandle constructor, Method[] methods, String failure) {
+            this.constructor = constructor;
+            this.methods = methods;
+            this.failure = failure;
+        }
+
+        static Generated failed(String failure) {
+            return new Generated(null, null, failure);
+        }
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static final class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        final Map<String, byte[]> classes = new HashMap<>();
+
+        InMemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(JavaFileManager.Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            URI uri = URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+            return new SimpleJavaFileObject(uri, kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream() {
+                        @Override
+                        public void close() throws IOException {
+                            super.close();
+                            classes.put(className, toByteArray());
+                        }
+                    };
+                }
+            };
+        }
+    }
+}